@@ -0,0 +1,68 @@
+package com.hyrup.studentmanagement;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import com.hyrup.studentmanagement.StudentController.StudentRequest;
+
+//Shared inputs for the benchmarks; repositories are in-memory stubs so only application code is measured
+final class BenchmarkFixtures {
+
+    static final String SECRET = "12468be46502d712acb9539a58ffa3a25ae73ccb919b89c526eadf123608ff3c";
+
+    private BenchmarkFixtures() {
+    }
+
+    static AppUser user() {
+        AppUser user = new AppUser();
+        user.setId(42L);
+        user.setName("Bench User");
+        user.setEmail("bench.user@example.com");
+        user.setPasswordHash("unused");
+        user.setRole("USER");
+        return user;
+    }
+
+    //Answers findByEmail/findTokenVersionById for the fixture user; any other repository call is a benchmark bug
+    static AppUserRepository appUserRepository(AppUser user) {
+        return (AppUserRepository) Proxy.newProxyInstance(
+            AppUserRepository.class.getClassLoader(),
+            new Class<?>[] {AppUserRepository.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "findByEmail" -> user.getEmail().equals(args[0]) ? Optional.of(user) : Optional.empty();
+                case "findTokenVersionById" -> Optional.of(user.getTokenVersion());
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> "AppUserRepository stub";
+                default -> throw new UnsupportedOperationException(method.getName());
+            }
+        );
+    }
+
+    static StudentRequest studentRequest(int i) {
+        return new StudentRequest(
+            "HYR-" + i,
+            "John",
+            "Doe",
+            "  John.Doe" + i + "@College.EDU ",
+            "Computer Science",
+            3,
+            LocalDate.of(2024, 8, 15),
+            new BigDecimal("3.70"),
+            "+1-555-111-2222",
+            "12 Main St, Boston, MA",
+            "Jane Doe",
+            "+1-555-333-4444",
+            "ACTIVE"
+        );
+    }
+
+    static Student student(long id) {
+        Student student = new Student();
+        StudentController.applyRequest(studentRequest((int) id), student);
+        student.setId(id);
+        return student;
+    }
+}
@@ -0,0 +1,78 @@
+package com.hyrup.studentmanagement;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import jakarta.servlet.FilterChain;
+
+//Full filter pass for one bearer request: header parsing, token cache or verification, user lookup, authentication,
+//including the per-phase timers
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    //"cached": repeated token served from VerifiedTokenCache; "verify": cache disabled, every call parses and looks up
+    @Param({"cached", "verify"})
+    public String path;
+
+    //"database" loads the user per verification; "stateless" builds the authentication from claims
+    @Param({"database", "stateless"})
+    public String mode;
+
+    private JwtAuthFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() {
+        AppUser user = BenchmarkFixtures.user();
+        AppUserRepository repository = BenchmarkFixtures.appUserRepository(user);
+        JwtService jwtService = new JwtService(BenchmarkFixtures.SECRET, 3600);
+        long cacheSize = "cached".equals(path) ? 1000 : 0;
+        filter = new JwtAuthFilter(
+            jwtService,
+            repository,
+            new VerifiedTokenCache(cacheSize, Duration.ofMinutes(5)),
+            new TokenVersionService(repository, 1000, Duration.ofMinutes(5)),
+            new SimpleMeterRegistry(),
+            "stateless".equals(mode)
+        );
+
+        request = new MockHttpServletRequest("GET", "/api/students/1");
+        request.addHeader("Authorization", "Bearer " + jwtService.generateToken(user));
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> { };
+    }
+
+    @Benchmark
+    public Authentication doFilter() throws Exception {
+        request.clearAttributes();
+        filter.doFilter(request, response, chain);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,89 @@
+package com.hyrup.studentmanagement;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.hyrup.studentmanagement.StudentController.StudentPage;
+import com.hyrup.studentmanagement.StudentController.StudentResponse;
+
+//JSON vs CBOR vs Smile for a StudentResponse page: write and read cost per page; payload sizes (raw and gzip) are
+//printed once per trial
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationFormatBenchmark {
+
+    private static final TypeReference<StudentPage<StudentResponse>> PAGE = new TypeReference<>() { };
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"50", "500"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private StudentPage<StudentResponse> page;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        //Built the same way as the application's converters in HttpFormatConfig
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        objectMapper = switch (format) {
+            case "json" -> builder.build();
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            case "smile" -> builder.factory(new SmileFactory()).build();
+            default -> throw new IllegalArgumentException(format);
+        };
+
+        List<StudentResponse> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(StudentController.toResponse(BenchmarkFixtures.student(i + 1)));
+        }
+        page = new StudentPage<>(items, "MTAwMA");
+        encoded = objectMapper.writeValueAsBytes(page);
+        System.out.printf("%n%s, %d students: %d bytes, %d bytes gzipped%n", format, size, encoded.length, gzipped(encoded));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public StudentPage<StudentResponse> deserialize() throws IOException {
+        return objectMapper.readValue(encoded, PAGE);
+    }
+
+    private static int gzipped(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,74 @@
+package com.hyrup.studentmanagement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hyrup.studentmanagement.StudentController.StudentRequest;
+import com.hyrup.studentmanagement.StudentController.StudentResponse;
+
+//Entity to DTO mapping, request application and JSON serialization for list pages of different sizes
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentMappingBenchmark {
+
+    @Param({"1", "50", "500"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Student> students;
+    private List<StudentResponse> responses;
+    private StudentRequest request;
+
+    @Setup
+    public void setUp() {
+        //Same defaults Spring Boot applies to the MVC ObjectMapper (java.time support, ISO dates)
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        students = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            students.add(BenchmarkFixtures.student(i + 1));
+        }
+        responses = students.stream().map(StudentController::toResponse).toList();
+        request = BenchmarkFixtures.studentRequest(1);
+    }
+
+    @Benchmark
+    public List<StudentResponse> toResponse() {
+        return students.stream().map(StudentController::toResponse).toList();
+    }
+
+    @Benchmark
+    public byte[] serializeResponses() throws Exception {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws Exception {
+        return objectMapper.writeValueAsBytes(students.stream().map(StudentController::toResponse).toList());
+    }
+
+    @Benchmark
+    public Student applyRequest() {
+        Student student = new Student();
+        StudentController.applyRequest(request, student);
+        return student;
+    }
+}
@@ -0,0 +1,146 @@
+package com.hyrup.studentmanagement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import jakarta.persistence.EntityManagerFactory;
+
+//Student insert throughput through JPA: IDENTITY ids as before (restored by the identity-ids.orm.xml mapping
+//override), and the block-allocated sequence ids the application uses now, with and without JDBC batching. All modes
+//run side by side, each on its own embedded PostgreSQL, and rounds alternate between them so machine noise hits them
+//alike. Each round times saveAll in chunks (seeding, batch jobs) and one save per transaction (POST /api/students);
+//medians are printed.
+public final class InsertThroughputBenchmark {
+
+    private static final int CHUNK = 1000;
+
+    private InsertThroughputBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rounds = Integer.getInteger("insert.rounds", 5);
+        int rows = Integer.getInteger("insert.rows", 10_000);
+        int singleRows = Integer.getInteger("insert.single-rows", 1_000);
+
+        List<Mode> modes = List.of(
+            new Mode("identity", rounds, "--spring.jpa.mapping-resources=identity-ids.orm.xml"),
+            new Mode("sequence, batched", rounds, "--spring.jpa.properties.hibernate.jdbc.batch_size=50"),
+            new Mode("sequence", rounds)
+        );
+        try {
+            for (Mode mode : modes) {
+                mode.start();
+                //Warms up the JIT, the connection pool and Hibernate's statement caches on both paths
+                mode.saveAll(rows);
+                mode.saveEach(singleRows);
+            }
+            for (int round = 0; round < rounds; round++) {
+                for (Mode mode : modes) {
+                    mode.measure(round, rows, singleRows);
+                }
+            }
+
+            System.out.printf("%-20s %16s %18s %20s%n", "ids", "saveAll rows/s", "statements/chunk", "single save rows/s");
+            for (Mode mode : modes) {
+                System.out.printf("%-20s %16.0f %18.1f %20.0f%n",
+                    mode.name, median(mode.saveAllRate), mode.statementsPerChunk, median(mode.singleRate));
+            }
+        } finally {
+            for (Mode mode : modes) {
+                mode.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    private static final class Mode {
+
+        private final String name;
+        private final List<String> extraArgs;
+        private final double[] saveAllRate;
+        private final double[] singleRate;
+        private EmbeddedPostgres postgres;
+        private ConfigurableApplicationContext app;
+        private StudentRepository repository;
+        private Statistics statistics;
+        private int next;
+        private double statementsPerChunk;
+
+        Mode(String name, int rounds, String... extraArgs) {
+            this.name = name;
+            this.extraArgs = List.of(extraArgs);
+            this.saveAllRate = new double[rounds];
+            this.singleRate = new double[rounds];
+        }
+
+        void start() throws Exception {
+            postgres = EmbeddedPostgres.builder().start();
+            List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=",
+                "--logging.level.root=WARN",
+                "--spring.jpa.properties.hibernate.generate_statistics=true"
+            ));
+            args.addAll(extraArgs);
+            app = new SpringApplicationBuilder(StudentManagementApplication.class).run(args.toArray(String[]::new));
+            repository = app.getBean(StudentRepository.class);
+            statistics = app.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        }
+
+        void measure(int round, int rows, int singleRows) {
+            statistics.clear();
+            long start = System.nanoTime();
+            saveAll(rows);
+            saveAllRate[round] = rows / ((System.nanoTime() - start) / 1e9);
+            //JDBC statements for the inserts: one per row unless batched, plus a nextval per id block for sequences
+            statementsPerChunk = statistics.getPrepareStatementCount() / Math.ceil((double) rows / CHUNK);
+
+            start = System.nanoTime();
+            saveEach(singleRows);
+            singleRate[round] = singleRows / ((System.nanoTime() - start) / 1e9);
+        }
+
+        void saveAll(int count) {
+            List<Student> chunk = new ArrayList<>(CHUNK);
+            for (int i = 0; i < count; i++) {
+                chunk.add(SeedData.student(next++));
+                if (chunk.size() == CHUNK || i == count - 1) {
+                    repository.saveAll(chunk);
+                    chunk.clear();
+                }
+            }
+        }
+
+        void saveEach(int count) {
+            for (int i = 0; i < count; i++) {
+                repository.save(SeedData.student(next++));
+            }
+        }
+
+        void close() throws Exception {
+            if (app != null) {
+                app.close();
+            }
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+    }
+}
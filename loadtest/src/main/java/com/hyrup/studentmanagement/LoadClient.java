@@ -0,0 +1,121 @@
+package com.hyrup.studentmanagement;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+//One simulated API consumer: holds its own token and the students it created, and issues one operation per call
+final class LoadClient {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final AtomicLong CREATED_SEQUENCE = new AtomicLong();
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final SeedData seed;
+    private final SeedData.SeedUser user;
+    private final Deque<Long> createdIds = new ArrayDeque<>();
+    private String bearer;
+
+    LoadClient(HttpClient http, String baseUrl, SeedData seed, SeedData.SeedUser user) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.seed = seed;
+        this.user = user;
+    }
+
+    void authenticate() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(loginRequest());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Seed user login failed with " + response.statusCode());
+        }
+        bearer = "Bearer " + JSON.readTree(response.body()).get("token").asText();
+    }
+
+    //Returns the HTTP status; DELETE with nothing to delete falls back to CREATE so write mixes stay balanced
+    int execute(Operation operation) throws IOException, InterruptedException {
+        return switch (operation) {
+            case LOGIN -> send(loginRequest()).statusCode();
+            case GET_BY_ID -> send(authorized("/api/students/" + seed.randomStudentId()).GET().build()).statusCode();
+            case LIST -> send(authorized("/api/students?limit=50&cursor=" + randomCursor()).GET().build()).statusCode();
+            case CREATE -> create();
+            case UPDATE -> update();
+            case DELETE -> createdIds.isEmpty() ? create() : delete(createdIds.pollFirst());
+        };
+    }
+
+    private int create() throws IOException, InterruptedException {
+        long n = CREATED_SEQUENCE.incrementAndGet();
+        HttpResponse<String> response = send(authorized("/api/students")
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(studentJson("LT-NEW-" + n, "lt.new." + n + "@load.test")))
+            .build());
+        if (response.statusCode() == 201) {
+            JsonNode body = JSON.readTree(response.body());
+            createdIds.addLast(body.get("id").asLong());
+        }
+        return response.statusCode();
+    }
+
+    private int update() throws IOException, InterruptedException {
+        int index = ThreadLocalRandom.current().nextInt(seed.studentCount());
+        return send(authorized("/api/students/" + seed.studentId(index))
+            .header("Content-Type", "application/json")
+            .PUT(HttpRequest.BodyPublishers.ofString(studentJson(SeedData.seedStudentId(index), SeedData.seedEmail(index))))
+            .build()).statusCode();
+    }
+
+    private int delete(long id) throws IOException, InterruptedException {
+        return send(authorized("/api/students/" + id).DELETE().build()).statusCode();
+    }
+
+    private HttpRequest loginRequest() {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(
+                "{\"email\":\"" + user.email() + "\",\"password\":\"" + user.password() + "\"}"))
+            .build();
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(Duration.ofSeconds(30))
+            .header("Authorization", bearer);
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String randomCursor() {
+        long afterId = seed.randomStudentId() - 1;
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(Long.toString(afterId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String studentJson(String studentId, String email) {
+        String gpa = String.format("%.2f", ThreadLocalRandom.current().nextDouble(0, 4));
+        return String.join("",
+            "{\"studentId\":\"", studentId, "\",",
+            "\"firstName\":\"Load\",\"lastName\":\"Test\",",
+            "\"email\":\"", email, "\",",
+            "\"course\":\"", SeedData.COURSES.get(ThreadLocalRandom.current().nextInt(SeedData.COURSES.size())), "\",",
+            "\"academicYear\":2,\"enrollmentDate\":\"2024-08-15\",",
+            "\"gpa\":", gpa, ",",
+            "\"phone\":\"+1-555-000-0000\",\"address\":\"1 Load St\",",
+            "\"emergencyContactName\":\"Contact\",\"emergencyContactPhone\":\"+1-555-000-0001\",",
+            "\"status\":\"ACTIVE\"}");
+    }
+}
@@ -0,0 +1,230 @@
+package com.hyrup.studentmanagement;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+//Boots the application against an embedded PostgreSQL, seeds data and replays each scenario in turn,
+//printing throughput, latency percentiles, GC activity and allocation rate, and writing HdrHistogram
+//percentile distributions to target/loadtest/<scenario>.hgrm.
+public final class LoadTestRunner {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = Duration.ofMinutes(1).toNanos();
+    private static final int USERS = 50;
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int students = Integer.getInteger("loadtest.students", 10_000);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 64);
+        Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+        List<Scenario> scenarios = Arrays.stream(System.getProperty("loadtest.scenarios", "login,read-by-id,list,write,mixed").split(","))
+            .map(Scenario::byId)
+            .toList();
+        Path reportDir = Path.of(System.getProperty("loadtest.report-dir", "target/loadtest"));
+        Files.createDirectories(reportDir);
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+             ConfigurableApplicationContext app = startApplication(postgres)) {
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            long seedStart = System.nanoTime();
+            SeedData seed = SeedData.create(app, students, USERS);
+            System.out.printf("seeded %d students and %d users in %d ms%n",
+                students, USERS, Duration.ofNanos(System.nanoTime() - seedStart).toMillis());
+
+            HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+            List<LoadClient> clients = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                LoadClient client = new LoadClient(http, "http://localhost:" + port, seed, seed.user(i));
+                client.authenticate();
+                clients.add(client);
+            }
+
+            for (Scenario scenario : scenarios) {
+                run(scenario, clients, warmup);
+                ScenarioResult result = measure(scenario, clients, duration);
+                result.print(System.out);
+                try (PrintStream out = new PrintStream(Files.newOutputStream(reportDir.resolve(scenario.id() + ".hgrm")))) {
+                    result.combined().outputPercentileDistribution(out, 1_000_000.0);
+                }
+            }
+        }
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext startApplication(EmbeddedPostgres postgres) {
+        //Passed as arguments rather than default properties so they win over application.yml
+        return new SpringApplicationBuilder(StudentManagementApplication.class).run(
+            "--server.port=0",
+            "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+            "--spring.datasource.username=postgres",
+            "--spring.datasource.password=",
+            "--logging.level.root=WARN"
+        );
+    }
+
+    private static void run(Scenario scenario, List<LoadClient> clients, Duration duration) throws Exception {
+        drive(scenario, clients, System.nanoTime() + duration.toNanos());
+    }
+
+    private static ScenarioResult measure(Scenario scenario, List<LoadClient> clients, Duration duration)
+        throws Exception {
+        long gcCountBefore = gcCount();
+        long gcMillisBefore = gcMillis();
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+
+        List<ClientRecording> recordings = drive(scenario, clients, start + duration.toNanos());
+
+        long elapsed = System.nanoTime() - start;
+        Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+        for (ClientRecording recording : recordings) {
+            recording.latencies.forEach((op, histogram) ->
+                latencies.computeIfAbsent(op, k -> newHistogram()).add(histogram));
+            recording.errors.forEach((op, count) -> errors.merge(op, count, Long::sum));
+        }
+        return new ScenarioResult(
+            scenario,
+            clients.size(),
+            elapsed,
+            latencies,
+            errors,
+            gcCount() - gcCountBefore,
+            gcMillis() - gcMillisBefore,
+            allocatedBytes() - allocatedBefore
+        );
+    }
+
+    private static List<ClientRecording> drive(Scenario scenario, List<LoadClient> clients, long endNanos)
+        throws Exception {
+        List<Future<ClientRecording>> futures = new ArrayList<>(clients.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (LoadClient client : clients) {
+                futures.add(executor.submit(() -> {
+                    ClientRecording recording = new ClientRecording();
+                    while (System.nanoTime() < endNanos) {
+                        Operation operation = scenario.next();
+                        long started = System.nanoTime();
+                        int status;
+                        try {
+                            status = client.execute(operation);
+                        } catch (IOException ex) {
+                            status = -1;
+                        }
+                        recording.record(operation, System.nanoTime() - started, status);
+                    }
+                    return recording;
+                }));
+            }
+        }
+        List<ClientRecording> recordings = new ArrayList<>(futures.size());
+        for (Future<ClientRecording> future : futures) {
+            recordings.add(future.get());
+        }
+        return recordings;
+    }
+
+    private static Histogram newHistogram() {
+        return new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+            .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+            .sum();
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+            .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+            .sum();
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getTotalThreadAllocatedBytes();
+    }
+
+    private static final class ClientRecording {
+        private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+
+        private void record(Operation operation, long latencyNanos, int status) {
+            latencies.computeIfAbsent(operation, k -> newHistogram())
+                .recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS));
+            if (status < 200 || status >= 300) {
+                errors.merge(operation, 1L, Long::sum);
+            }
+        }
+    }
+
+    private record ScenarioResult(
+        Scenario scenario,
+        int concurrency,
+        long elapsedNanos,
+        Map<Operation, Histogram> latencies,
+        Map<Operation, Long> errors,
+        long gcCount,
+        long gcMillis,
+        long allocatedBytes
+    ) {
+
+        private Histogram combined() {
+            Histogram combined = newHistogram();
+            latencies.values().forEach(combined::add);
+            return combined;
+        }
+
+        private void print(PrintStream out) {
+            double seconds = elapsedNanos / 1e9;
+            Histogram all = combined();
+            long totalErrors = errors.values().stream().mapToLong(Long::longValue).sum();
+            out.printf("%n=== %s: concurrency=%d duration=%.1fs%n", scenario.id(), concurrency, seconds);
+            out.printf("throughput %.1f req/s, %d requests, %d errors%n",
+                all.getTotalCount() / seconds, all.getTotalCount(), totalErrors);
+            out.printf("%-10s %9s %7s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+            latencies.forEach((op, h) -> printRow(out, op.name(), h, errors.getOrDefault(op, 0L)));
+            printRow(out, "ALL", all, totalErrors);
+            out.printf("gc: %d collections, %d ms; allocation %.1f MB/s (whole JVM, load driver included)%n",
+                gcCount, gcMillis, allocatedBytes / seconds / (1024 * 1024));
+        }
+
+        private static void printRow(PrintStream out, String name, Histogram h, long errorCount) {
+            out.printf("%-10s %9d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name,
+                h.getTotalCount(),
+                errorCount,
+                h.getValueAtPercentile(50) / 1e6,
+                h.getValueAtPercentile(90) / 1e6,
+                h.getValueAtPercentile(99) / 1e6,
+                h.getValueAtPercentile(99.9) / 1e6,
+                h.getMaxValue() / 1e6);
+        }
+    }
+}
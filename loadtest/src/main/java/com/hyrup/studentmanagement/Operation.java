@@ -0,0 +1,11 @@
+package com.hyrup.studentmanagement;
+
+//Request types the load driver can issue; scenarios are weighted mixes of these
+enum Operation {
+    LOGIN,
+    GET_BY_ID,
+    LIST,
+    CREATE,
+    UPDATE,
+    DELETE
+}
@@ -0,0 +1,60 @@
+package com.hyrup.studentmanagement;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+//A named, weighted traffic mix
+enum Scenario {
+    LOGIN("login", Map.of(Operation.LOGIN, 100)),
+    READ_BY_ID("read-by-id", Map.of(Operation.GET_BY_ID, 100)),
+    LIST("list", Map.of(Operation.LIST, 100)),
+    WRITE("write", Map.of(Operation.CREATE, 40, Operation.UPDATE, 40, Operation.DELETE, 20)),
+    MIXED("mixed", Map.of(
+        Operation.LOGIN, 2,
+        Operation.GET_BY_ID, 60,
+        Operation.LIST, 20,
+        Operation.CREATE, 8,
+        Operation.UPDATE, 6,
+        Operation.DELETE, 4
+    ));
+
+    private final String id;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    Scenario(String id, Map<Operation, Integer> weights) {
+        this.id = id;
+        Map<Operation, Integer> ordered = new EnumMap<>(weights);
+        this.operations = ordered.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += ordered.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    String id() {
+        return id;
+    }
+
+    Operation next() {
+        int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    static Scenario byId(String id) {
+        for (Scenario scenario : values()) {
+            if (scenario.id.equals(id.trim())) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario '" + id + "'");
+    }
+}
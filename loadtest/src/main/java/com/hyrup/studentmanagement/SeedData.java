@@ -0,0 +1,107 @@
+package com.hyrup.studentmanagement;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+//Users and students written straight through the repositories before any traffic starts
+final class SeedData {
+
+    static final List<String> COURSES = List.of("Computer Science", "Mathematics", "Physics", "Economics", "History");
+    static final List<String> STATUSES = List.of("ACTIVE", "ACTIVE", "ACTIVE", "SUSPENDED", "GRADUATED");
+
+    private static final int SAVE_CHUNK = 1000;
+    private static final String USER_PASSWORD = "LoadTestPass1";
+
+    private final long[] studentIds;
+    private final List<SeedUser> users;
+
+    private SeedData(long[] studentIds, List<SeedUser> users) {
+        this.studentIds = studentIds;
+        this.users = users;
+    }
+
+    static SeedData create(ApplicationContext context, int studentCount, int userCount) {
+        AppUserRepository appUserRepository = context.getBean(AppUserRepository.class);
+        StudentRepository studentRepository = context.getBean(StudentRepository.class);
+        PasswordEncoder passwordEncoder = context.getBean(PasswordEncoder.class);
+
+        String passwordHash = passwordEncoder.encode(USER_PASSWORD);
+        List<SeedUser> users = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            AppUser user = new AppUser();
+            user.setName("Load User " + i);
+            user.setEmail("load.user." + i + "@load.test");
+            user.setPasswordHash(passwordHash);
+            user.setRole("USER");
+            appUserRepository.save(user);
+            users.add(new SeedUser(user.getEmail(), USER_PASSWORD));
+        }
+
+        long[] ids = new long[studentCount];
+        List<Student> chunk = new ArrayList<>(SAVE_CHUNK);
+        for (int i = 0; i < studentCount; i++) {
+            chunk.add(student(i));
+            if (chunk.size() == SAVE_CHUNK || i == studentCount - 1) {
+                List<Student> saved = studentRepository.saveAll(chunk);
+                int offset = i + 1 - saved.size();
+                for (int j = 0; j < saved.size(); j++) {
+                    ids[offset + j] = saved.get(j).getId();
+                }
+                chunk.clear();
+            }
+        }
+        return new SeedData(ids, users);
+    }
+
+    static String seedStudentId(int index) {
+        return "LT-" + index;
+    }
+
+    static String seedEmail(int index) {
+        return "lt." + index + "@load.test";
+    }
+
+    int studentCount() {
+        return studentIds.length;
+    }
+
+    long studentId(int index) {
+        return studentIds[index];
+    }
+
+    long randomStudentId() {
+        return studentIds[ThreadLocalRandom.current().nextInt(studentIds.length)];
+    }
+
+    SeedUser user(int clientIndex) {
+        return users.get(clientIndex % users.size());
+    }
+
+    static Student student(int index) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Student student = new Student();
+        student.setStudentId(seedStudentId(index));
+        student.setFirstName("First" + index);
+        student.setLastName("Last" + index);
+        student.setEmail(seedEmail(index));
+        student.setCourse(COURSES.get(index % COURSES.size()));
+        student.setAcademicYear(1 + index % 8);
+        student.setEnrollmentDate(LocalDate.of(2020, 8, 15).plusDays(index % 1500));
+        student.setGpa(BigDecimal.valueOf(random.nextInt(0, 401), 2));
+        student.setPhone("+1-555-" + String.format("%07d", index % 10_000_000));
+        student.setAddress(index + " Seed Street");
+        student.setEmergencyContactName("Contact " + index);
+        student.setEmergencyContactPhone("+1-555-999-0000");
+        student.setStatus(STATUSES.get(index % STATUSES.size()));
+        return student;
+    }
+
+    record SeedUser(String email, String password) {
+    }
+}
@@ -0,0 +1,115 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+//Closed-loop HTTP load generator: N concurrent clients, each sending its next request as soon as the previous one returns.
+//Run with the JDK single-file launcher, e.g.
+//  java scripts/LoadGenerator.java http://localhost:8080/api/students/1 <jwt> 1000 30
+public class LoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.err.println("usage: LoadGenerator <url> <bearer-token> <concurrency> <duration-seconds> [warmup-seconds]");
+            System.exit(2);
+        }
+        URI uri = URI.create(args[0]);
+        String token = args[1];
+        int concurrency = Integer.parseInt(args[2]);
+        long durationNanos = Duration.ofSeconds(Long.parseLong(args[3])).toNanos();
+        long warmupNanos = Duration.ofSeconds(args.length > 4 ? Long.parseLong(args[4]) : 5).toNanos();
+
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+            .header("Authorization", "Bearer " + token)
+            .timeout(Duration.ofSeconds(30))
+            .GET()
+            .build();
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + durationNanos;
+
+        List<Future<ClientStats>> futures = new ArrayList<>(concurrency);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(clients.submit(() -> runClient(client, request, measureFrom, end)));
+            }
+        }
+
+        long ok = 0;
+        long errors = 0;
+        long[] latencies = new long[0];
+        for (Future<ClientStats> future : futures) {
+            ClientStats stats = future.get();
+            ok += stats.ok;
+            errors += stats.errors;
+            int offset = latencies.length;
+            latencies = Arrays.copyOf(latencies, offset + stats.count);
+            System.arraycopy(stats.latencies, 0, latencies, offset, stats.count);
+        }
+        Arrays.sort(latencies);
+
+        double seconds = durationNanos / 1e9;
+        System.out.printf("concurrency=%d duration=%.0fs requests=%d errors=%d throughput=%.1f req/s%n",
+            concurrency, seconds, ok + errors, errors, ok / seconds);
+        System.out.printf("latency ms: p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+            percentile(latencies, 50), percentile(latencies, 90), percentile(latencies, 99),
+            percentile(latencies, 99.9), latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6);
+    }
+
+    private static ClientStats runClient(HttpClient client, HttpRequest request, long measureFrom, long end) {
+        ClientStats stats = new ClientStats();
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            boolean success;
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                success = response.statusCode() < 400;
+            } catch (Exception ex) {
+                success = false;
+            }
+            if (now >= measureFrom) {
+                stats.record(System.nanoTime() - now, success);
+            }
+        }
+        return stats;
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    private static final class ClientStats {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long ok;
+        private long errors;
+
+        private void record(long latencyNanos, boolean success) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (success) {
+                ok++;
+            } else {
+                errors++;
+            }
+        }
+    }
+}
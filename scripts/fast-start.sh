@@ -0,0 +1,23 @@
+#!/usr/bin/env bash
+# Builds the fast-start layout: AOT-processed plain jar with its dependencies in target/lib, plus a class-data-sharing
+# archive (target/application.jsa) recorded from a training run that starts the context and exits.
+# The training run connects to the database like a normal start (DB_URL/DB_USERNAME/DB_PASSWORD as for the app).
+#
+#   scripts/fast-start.sh
+#   java -XX:SharedArchiveFile=target/application.jsa -Dspring.aot.enabled=true \
+#     -jar target/hyrup-student-management-0.0.1-SNAPSHOT.jar
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAR="target/hyrup-student-management-0.0.1-SNAPSHOT.jar"
+ARCHIVE="target/application.jsa"
+
+mvn -B -q -Pfast-start package -DskipTests
+
+# The archive is only used when the JVM version and the class path match this run exactly
+rm -f "${ARCHIVE}"
+java -XX:ArchiveClassesAtExit="${ARCHIVE}" -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+  -jar "${JAR}" > target/fast-start-training.log 2>&1
+
+echo "Built ${ARCHIVE}. Run with:"
+echo "  java -XX:SharedArchiveFile=${ARCHIVE} -Dspring.aot.enabled=true -jar ${JAR}"
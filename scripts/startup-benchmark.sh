@@ -0,0 +1,67 @@
+#!/usr/bin/env bash
+# Measures how long a new instance takes to serve its first request, and its resident memory at that point, for the
+# plain fat jar, the lazy profile, the AOT build and the AOT build started from its CDS archive.
+# Needs Java 21 and a reachable PostgreSQL (DB_URL/DB_USERNAME/DB_PASSWORD as for the app).
+#
+#   scripts/startup-benchmark.sh [runs-per-mode]
+#   scripts/startup-benchmark.sh 5
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS="${1:-5}"
+PORT="${SERVER_PORT:-8080}"
+EXEC_JAR="target/hyrup-student-management-0.0.1-SNAPSHOT-exec.jar"
+AOT_JAR="target/hyrup-student-management-0.0.1-SNAPSHOT.jar"
+LOG="target/startup-benchmark.log"
+
+declare -A MODES=(
+  [fat-jar]="-jar ${EXEC_JAR}"
+  [fat-jar-lazy]="-jar ${EXEC_JAR} --spring.profiles.active=lazy"
+  [aot]="-Dspring.aot.enabled=true -jar ${AOT_JAR}"
+  [aot-cds]="-XX:SharedArchiveFile=target/application.jsa -Dspring.aot.enabled=true -jar ${AOT_JAR}"
+)
+
+# Also builds the fat jar; the AOT classes it now contains are ignored unless spring.aot.enabled is set
+scripts/fast-start.sh > /dev/null
+
+# Prints "<time-to-first-request-ms> <rss-mb>": from launching the JVM to the first 200 from /actuator/health, and
+# the process's resident set size right after it
+start_once() {
+  local started
+  started="$(date +%s%N)"
+  # shellcheck disable=SC2086
+  java $1 --server.port="${PORT}" > "${LOG}" 2>&1 &
+  local pid=$!
+  until curl -sf -o /dev/null "http://localhost:${PORT}/actuator/health"; do
+    if ! kill -0 "${pid}" 2>/dev/null; then
+      echo "application exited, see ${LOG}" >&2
+      return 1
+    fi
+    sleep 0.02
+  done
+  local ready rss
+  ready="$(date +%s%N)"
+  rss="$(awk '/VmRSS/ { print int($2 / 1024) }' "/proc/${pid}/status")"
+  kill "${pid}"
+  wait "${pid}" 2>/dev/null || true
+  echo "$(( (ready - started) / 1000000 )) ${rss}"
+}
+
+median() {
+  sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+printf '%-14s %26s %10s\n' "mode" "time to first request (ms)" "rss (MB)"
+for MODE in fat-jar fat-jar-lazy aot aot-cds; do
+  # The first start warms the OS page cache and is not counted
+  start_once "${MODES[${MODE}]}" > /dev/null
+  READY=()
+  RSS=()
+  for _ in $(seq 1 "${RUNS}"); do
+    read -r MS MB < <(start_once "${MODES[${MODE}]}")
+    READY+=("${MS}")
+    RSS+=("${MB}")
+  done
+  printf '%-14s %26s %10s\n' "${MODE}" \
+    "$(printf '%s\n' "${READY[@]}" | median)" "$(printf '%s\n' "${RSS[@]}" | median)"
+done
@@ -0,0 +1,80 @@
+#!/usr/bin/env bash
+# Compares application startup time across schema-management modes: Hibernate ddl-auto=update with the old
+# startup SQL scripts, Flyway migrations with ddl-auto=validate (the default), and an instance started against an
+# already-migrated database with Flyway and schema validation both off.
+# Needs Java 21 and a reachable PostgreSQL (DB_URL/DB_USERNAME/DB_PASSWORD as for the app).
+#
+#   scripts/startup-time.sh [runs-per-mode]
+#   scripts/startup-time.sh 5
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS="${1:-5}"
+JAR="target/hyrup-student-management-0.0.1-SNAPSHOT-exec.jar"
+LOG="target/startup-time.log"
+
+declare -A MODES=(
+  [ddl-update]="--spring.flyway.enabled=false --spring.jpa.hibernate.ddl-auto=update --spring.sql.init.mode=always
+    --spring.sql.init.schema-locations=classpath:db/migration/V2__search_indexes.sql,classpath:db/migration/V3__change_feed.sql
+    --spring.jpa.defer-datasource-initialization=true"
+  [migrate-validate]="--spring.jpa.hibernate.ddl-auto=validate"
+  [pre-migrated]="--spring.flyway.enabled=false --spring.jpa.hibernate.ddl-auto=none"
+)
+
+mvn -B -q package -DskipTests
+
+# Seconds of the day for a log line's ISO timestamp (2026-01-01T12:00:00.123Z ...)
+log_time() {
+  grep -m1 "$1" "${LOG}" | cut -c12-23 | awk -F: '{ print $1 * 3600 + $2 * 60 + $3 }'
+}
+
+# Prints "<schema> <started-in> <process-running-for>" in seconds. schema runs from the first database connection to
+# the JPA EntityManagerFactory being ready: Flyway's history check plus validation, or Hibernate's schema update.
+start_once() {
+  # shellcheck disable=SC2086
+  java -jar "${JAR}" --server.port=0 $1 > "${LOG}" 2>&1 &
+  local pid=$!
+  for _ in $(seq 1 240); do
+    if ! kill -0 "${pid}" 2>/dev/null; then
+      echo "application exited, see ${LOG}" >&2
+      return 1
+    fi
+    local line
+    line="$(grep -o 'Started StudentManagementApplication in [0-9.]* seconds (process running for [0-9.]*)' "${LOG}" || true)"
+    if [[ -n "${line}" ]]; then
+      kill "${pid}"
+      wait "${pid}" 2>/dev/null || true
+      local from to
+      from="$(printf '%s\n' "$(log_time 'HikariPool-1 - Starting')" "$(log_time 'HHH000204')" | sort -n | head -1)"
+      to="$(log_time 'Initialized JPA EntityManagerFactory')"
+      echo "$(awk -v a="${from}" -v b="${to}" 'BEGIN { printf "%.3f", b - a }')" \
+        "$(echo "${line}" | sed 's/.* in \([0-9.]*\) seconds (process running for \([0-9.]*\))/\1 \2/')"
+      return 0
+    fi
+    sleep 0.25
+  done
+  kill "${pid}"
+  echo "application did not start, see ${LOG}" >&2
+  return 1
+}
+
+median() {
+  sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+printf '%-18s %12s %14s %14s\n' "mode" "schema (s)" "context (s)" "jvm total (s)"
+for MODE in ddl-update migrate-validate pre-migrated; do
+  # The first boot warms the OS page cache and, for migrations, applies anything pending; it is not counted
+  start_once "${MODES[${MODE}]}" > /dev/null
+  SCHEMA=()
+  CONTEXT=()
+  TOTAL=()
+  for _ in $(seq 1 "${RUNS}"); do
+    read -r PHASE STARTED RUNNING < <(start_once "${MODES[${MODE}]}")
+    SCHEMA+=("${PHASE}")
+    CONTEXT+=("${STARTED}")
+    TOTAL+=("${RUNNING}")
+  done
+  printf '%-18s %12s %14s %14s\n' "${MODE}" "$(printf '%s\n' "${SCHEMA[@]}" | median)" \
+    "$(printf '%s\n' "${CONTEXT[@]}" | median)" "$(printf '%s\n' "${TOTAL[@]}" | median)"
+done
@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+# Compares platform-thread and virtual-thread request handling under 1k and 5k concurrent clients.
+# Needs Java 21 and a reachable PostgreSQL (DB_URL/DB_USERNAME/DB_PASSWORD as for the app).
+#
+#   scripts/virtual-thread-benchmark.sh [duration-seconds] [concurrency...]
+#   scripts/virtual-thread-benchmark.sh 30 1000 5000
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+DURATION="${1:-30}"
+shift || true
+LEVELS=("${@:-1000 5000}")
+PORT="${SERVER_PORT:-8080}"
+BASE="http://localhost:${PORT}"
+JAR="target/hyrup-student-management-0.0.1-SNAPSHOT-exec.jar"
+
+mvn -B -q package -DskipTests
+
+wait_ready() {
+  for _ in $(seq 1 120); do
+    if ! kill -0 "${APP_PID}" 2>/dev/null; then
+      echo "application exited, see target/vt-benchmark-${MODE}.log" >&2
+      return 1
+    fi
+    if curl -s -o /dev/null "${BASE}/api/auth/login"; then
+      return 0
+    fi
+    sleep 0.5
+  done
+  echo "application did not start" >&2
+  return 1
+}
+
+token() {
+  curl -s -o /dev/null -X POST "${BASE}/api/auth/register" -H 'Content-Type: application/json' \
+    -d '{"name":"Bench","email":"bench@example.com","password":"BenchPass123"}' || true
+  curl -s -X POST "${BASE}/api/auth/login" -H 'Content-Type: application/json' \
+    -d '{"email":"bench@example.com","password":"BenchPass123"}' | sed 's/.*"token":"\([^"]*\)".*/\1/'
+}
+
+seed_student() {
+  curl -s -o /dev/null -X POST "${BASE}/api/students" -H "Authorization: Bearer $1" -H 'Content-Type: application/json' \
+    -d '{"studentId":"BENCH-1","firstName":"Bench","lastName":"Mark","email":"bench.student@example.com","course":"CS","academicYear":1,"enrollmentDate":"2024-01-01","gpa":3.0,"phone":"1","address":"a","emergencyContactName":"b","emergencyContactPhone":"2","status":"ACTIVE"}' || true
+  curl -s "${BASE}/api/students?limit=1" -H "Authorization: Bearer $1" | sed 's/.*"items":\[{"id":\([0-9]*\).*/\1/'
+}
+
+for MODE in false true; do
+  echo "=== spring.threads.virtual.enabled=${MODE}"
+  java -jar "${JAR}" --spring.threads.virtual.enabled="${MODE}" > "target/vt-benchmark-${MODE}.log" 2>&1 &
+  APP_PID=$!
+  trap 'kill ${APP_PID} 2>/dev/null || true' EXIT
+  wait_ready
+  TOKEN="$(token)"
+  STUDENT_ID="$(seed_student "${TOKEN}")"
+  for CONCURRENCY in ${LEVELS[@]}; do
+    java scripts/LoadGenerator.java "${BASE}/api/students/${STUDENT_ID}" "${TOKEN}" "${CONCURRENCY}" "${DURATION}"
+  done
+  kill "${APP_PID}"
+  wait "${APP_PID}" 2>/dev/null || true
+done
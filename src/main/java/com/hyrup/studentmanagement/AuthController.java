@@ -1,7 +1,12 @@
 package com.hyrup.studentmanagement;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -9,6 +14,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -20,46 +26,87 @@ import jakarta.validation.constraints.Size;
 public class AuthController {
 
     private final AppUserRepository appUserRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final LoginAttemptLimiter loginAttemptLimiter;
     private final JwtService jwtService;
+    private final TokenVersionService tokenVersionService;
+    private final Executor completionExecutor;
 
-    public AuthController(AppUserRepository appUserRepository, PasswordEncoder passwordEncoder, JwtService jwtService) {
+    public AuthController(
+        AppUserRepository appUserRepository,
+        PasswordHashingService passwordHashingService,
+        LoginAttemptLimiter loginAttemptLimiter,
+        JwtService jwtService,
+        TokenVersionService tokenVersionService,
+        @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor completionExecutor
+    ) {
         this.appUserRepository = appUserRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
+        this.loginAttemptLimiter = loginAttemptLimiter;
         this.jwtService = jwtService;
+        this.tokenVersionService = tokenVersionService;
+        this.completionExecutor = completionExecutor;
     }
 
     @PostMapping("/register")
     @ResponseStatus(HttpStatus.CREATED)
-    public TokenResponse register(@Valid @RequestBody RegisterRequest request) {
+    public CompletableFuture<TokenResponse> register(@Valid @RequestBody RegisterRequest request) {
         String email = request.email().trim().toLowerCase();
         if (appUserRepository.existsByEmail(email)) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Email already registered");
         }
 
-        AppUser user = new AppUser();
-        user.setName(request.name().trim());
-        user.setEmail(email);
-        user.setPasswordHash(passwordEncoder.encode(request.password()));
-        user.setRole("USER");
+        //Hashing runs on the bounded BCrypt pool; the request thread is released until it completes. The save and
+        //token signing continue on the application executor, so a BCrypt worker is free again as soon as it hashed.
+        return passwordHashingService.encode(request.password()).thenApplyAsync(passwordHash -> {
+            AppUser user = new AppUser();
+            user.setName(request.name().trim());
+            user.setEmail(email);
+            user.setPasswordHash(passwordHash);
+            user.setRole("USER");
 
-        AppUser saved = appUserRepository.save(user);
-        String token = jwtService.generateToken(saved);
-        return new TokenResponse(token, "Bearer", jwtService.getExpirationSeconds());
+            AppUser saved = appUserRepository.save(user);
+            String token = jwtService.generateToken(saved);
+            return new TokenResponse(token, "Bearer", jwtService.getExpirationSeconds());
+        }, completionExecutor);
     }
 
     @PostMapping("/login")
-    public TokenResponse login(@Valid @RequestBody LoginRequest request) {
+    public CompletableFuture<TokenResponse> login(
+        @Valid @RequestBody LoginRequest request,
+        HttpServletRequest httpRequest
+    ) {
         String email = request.email().trim().toLowerCase();
-        AppUser user = appUserRepository.findByEmail(email)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials"));
+        String clientIp = httpRequest.getRemoteAddr();
+        loginAttemptLimiter.checkAllowed(email, clientIp);
 
-        if (!passwordEncoder.matches(request.password(), user.getPasswordHash())) {
+        AppUser user = appUserRepository.findByEmail(email).orElse(null);
+        if (user == null) {
+            loginAttemptLimiter.recordFailure(email, clientIp);
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials");
         }
 
-        String token = jwtService.generateToken(user);
-        return new TokenResponse(token, "Bearer", jwtService.getExpirationSeconds());
+        return passwordHashingService.matches(request.password(), user.getPasswordHash()).thenApplyAsync(matches -> {
+            if (!matches) {
+                loginAttemptLimiter.recordFailure(email, clientIp);
+                throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials");
+            }
+            loginAttemptLimiter.recordSuccess(email);
+            String token = jwtService.generateToken(user);
+            return new TokenResponse(token, "Bearer", jwtService.getExpirationSeconds());
+        }, completionExecutor);
+    }
+
+    //Revokes every token issued to the caller so far, on all devices
+    @PostMapping("/logout")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void logout(Authentication authentication) {
+        if (authentication == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized");
+        }
+        AppUser user = appUserRepository.findByEmail(authentication.getName())
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized"));
+        tokenVersionService.revokeAll(user.getId());
     }
 
     public record RegisterRequest(
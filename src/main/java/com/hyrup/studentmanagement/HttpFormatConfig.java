@@ -0,0 +1,69 @@
+package com.hyrup.studentmanagement;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+//Binary alternatives to JSON for service-to-service clients, chosen with the Accept header. Both mappers come from
+//Spring Boot's builder, so field names, date formats and modules match the JSON responses exactly.
+@Configuration
+public class HttpFormatConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    //The formats a response body can take, in the converters' order so that */* keeps answering JSON.
+    //A strong ETag vouches for exact bytes, so each binary format tags the same version differently.
+    public enum Representation {
+        JSON(MediaType.APPLICATION_JSON, ""),
+        CBOR(MediaType.APPLICATION_CBOR, "-cbor"),
+        SMILE(new MediaType("application", "x-jackson-smile"), "-smile");
+
+        private final MediaType mediaType;
+        private final String etagSuffix;
+
+        Representation(MediaType mediaType, String etagSuffix) {
+            this.mediaType = mediaType;
+            this.etagSuffix = etagSuffix;
+        }
+
+        public MediaType mediaType() {
+            return mediaType;
+        }
+
+        public String etagSuffix() {
+            return etagSuffix;
+        }
+
+        //accepted must already be sorted by quality and specificity, as ContentNegotiationManager returns it.
+        //Null when none is acceptable, which is left to Spring MVC to answer with 406.
+        public static Representation negotiate(List<MediaType> accepted) {
+            for (MediaType type : accepted) {
+                if (type.getQualityValue() == 0) {
+                    continue;
+                }
+                for (Representation representation : values()) {
+                    if (type.includes(representation.mediaType)) {
+                        return representation;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+}
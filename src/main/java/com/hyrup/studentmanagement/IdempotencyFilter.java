@@ -0,0 +1,287 @@
+package com.hyrup.studentmanagement;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+//Idempotency-Key handling for POST /api/students and /api/auth/register. A retried key gets the stored response
+//replayed before the body is even parsed, so it costs no validation, existence query or BCrypt hash.
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    private static final String HEADER = "Idempotency-Key";
+    private static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final Set<String> PATHS = Set.of("/api/students", "/api/auth/register");
+    private static final List<String> STORED_HEADERS = List.of(HttpHeaders.ETAG, HttpHeaders.LOCATION);
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final String PENDING_ATTRIBUTE = IdempotencyFilter.class.getName() + ".PENDING";
+
+    //An entry with no response is a request still running under that key
+    private final Cache<String, Entry> entries;
+    private final Counter replayed;
+    private final Counter stored;
+    private final Counter rejected;
+
+    public IdempotencyFilter(
+        MeterRegistry meterRegistry,
+        @Value("${app.idempotency.max-size:10000}") long maxSize,
+        @Value("${app.idempotency.ttl:24h}") Duration ttl
+    ) {
+        this.entries = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .build();
+        this.replayed = meterRegistry.counter("http.idempotency", "result", "replayed");
+        this.stored = meterRegistry.counter("http.idempotency", "result", "stored");
+        this.rejected = meterRegistry.counter("http.idempotency", "result", "rejected");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || !PATHS.contains(path(request));
+    }
+
+    //register completes asynchronously; the response is only final once the async dispatch has written it
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                complete(request, response);
+            }
+            return;
+        }
+
+        String key = request.getHeader(HEADER);
+        if (key == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            rejected.increment();
+            response.sendError(HttpStatus.BAD_REQUEST.value(), HEADER + " must be 1-" + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            rejected.increment();
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), "Request body too large");
+            return;
+        }
+
+        //Keys are per caller, so one client can never be handed another's response
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String scope = authentication != null && authentication.isAuthenticated() ? authentication.getName() : "";
+        String storeKey = path(request) + '\n' + scope + '\n' + key;
+        String fingerprint = fingerprint(body);
+
+        Entry existing = entries.asMap().putIfAbsent(storeKey, new Entry(fingerprint, null));
+        if (existing != null) {
+            if (!existing.fingerprint().equals(fingerprint)) {
+                rejected.increment();
+                response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                    HEADER + " was already used with a different request body");
+            } else if (existing.response() == null) {
+                rejected.increment();
+                response.sendError(HttpStatus.CONFLICT.value(), "A request with this " + HEADER + " is still in progress");
+            } else {
+                replayed.increment();
+                existing.response().writeTo(response);
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        request.setAttribute(PENDING_ATTRIBUTE, new Pending(storeKey, fingerprint));
+        try {
+            filterChain.doFilter(new CachedBodyRequest(request, body), wrapper);
+        } finally {
+            complete(request, wrapper);
+        }
+    }
+
+    private void complete(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Pending pending = (Pending) request.getAttribute(PENDING_ATTRIBUTE);
+        if (pending == null || request.isAsyncStarted()) {
+            return;
+        }
+        request.removeAttribute(PENDING_ATTRIBUTE);
+        ContentCachingResponseWrapper wrapper = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+
+        //Only successes are kept: an error may be transient, and error bodies are rendered after this filter returns
+        if (wrapper != null && HttpStatus.valueOf(wrapper.getStatus()).is2xxSuccessful()) {
+            Map<String, String> headers = new LinkedHashMap<>();
+            for (String name : STORED_HEADERS) {
+                String value = wrapper.getHeader(name);
+                if (value != null) {
+                    headers.put(name, value);
+                }
+            }
+            StoredResponse stored = new StoredResponse(
+                wrapper.getStatus(),
+                wrapper.getContentType(),
+                headers,
+                wrapper.getContentAsByteArray()
+            );
+            entries.put(pending.storeKey(), new Entry(pending.fingerprint(), stored));
+            this.stored.increment();
+        } else {
+            entries.invalidate(pending.storeKey());
+        }
+        if (wrapper != null) {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    //The path within the application, so a context path or a trailing slash cannot slip a request past the filter
+    private static String path(HttpServletRequest request) {
+        String path = request.getServletPath() + (request.getPathInfo() != null ? request.getPathInfo() : "");
+        return path.length() > 1 && path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    private static String fingerprint(byte[] body) {
+        try {
+            return Base64.getEncoder().withoutPadding().encodeToString(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private record Entry(String fingerprint, StoredResponse response) {
+    }
+
+    private record Pending(String storeKey, String fingerprint) {
+    }
+
+    private record StoredResponse(int status, String contentType, Map<String, String> headers, byte[] body) {
+
+        void writeTo(HttpServletResponse response) throws IOException {
+            response.setStatus(status);
+            if (contentType != null) {
+                response.setContentType(contentType);
+            }
+            headers.forEach(response::setHeader);
+            response.setHeader(REPLAYED_HEADER, "true");
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+
+    //The body has already been read to fingerprint it, so downstream parsing reads this copy
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                //The body is already in memory, so it is available, and usually read to the end, straight away
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException ex) {
+                        listener.onError(ex);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(
+                new ByteArrayInputStream(body),
+                encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8
+            ));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -2,7 +2,9 @@ package com.hyrup.studentmanagement;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -10,21 +12,52 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.hyrup.studentmanagement.VerifiedTokenCache.VerifiedToken;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
-//JWT auth filter for validation 
+//JWT auth filter for validation; repeated tokens are served from the verified-token cache without parsing or DB access.
+//In stateless mode the authentication is built from the verified claims alone and never loads the AppUser.
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final AppUserRepository appUserRepository;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenVersionService tokenVersionService;
+    private final boolean stateless;
+
+    //Registered once up front: the hot path only reads System.nanoTime() and records into a known Timer
+    private final Timer cacheTimer;
+    private final Timer verifyTimer;
+    private final Timer userLookupTimer;
+    private final Timer tokenVersionTimer;
 
-    public JwtAuthFilter(JwtService jwtService, AppUserRepository appUserRepository) {
+    public JwtAuthFilter(
+        JwtService jwtService,
+        AppUserRepository appUserRepository,
+        VerifiedTokenCache verifiedTokenCache,
+        TokenVersionService tokenVersionService,
+        MeterRegistry meterRegistry,
+        @Value("${app.jwt.stateless:false}") boolean stateless
+    ) {
         this.jwtService = jwtService;
         this.appUserRepository = appUserRepository;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenVersionService = tokenVersionService;
+        this.stateless = stateless;
+        this.cacheTimer = phaseTimer(meterRegistry, "cache");
+        this.verifyTimer = phaseTimer(meterRegistry, "verify");
+        this.userLookupTimer = phaseTimer(meterRegistry, "user-lookup");
+        this.tokenVersionTimer = phaseTimer(meterRegistry, "token-version");
     }
 
     @Override
@@ -41,19 +74,25 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         String token = header.substring(7);
         try {
-            String email = jwtService.extractEmail(token);
-            if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                appUserRepository.findByEmail(email).ifPresent(user -> {
-                    if (jwtService.isValid(token, user)) {
-                        var auth = new UsernamePasswordAuthenticationToken(
-                            user.getEmail(),
-                            null,
-                            List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole()))
-                        );
-                        auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(auth);
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                long startedAt = System.nanoTime();
+                VerifiedToken verified = verifiedTokenCache.get(token);
+                cacheTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                if (verified == null) {
+                    verified = verify(token);
+                    if (verified != null) {
+                        verifiedTokenCache.put(token, verified);
                     }
-                });
+                }
+                if (verified != null && isCurrent(verified)) {
+                    var auth = new UsernamePasswordAuthenticationToken(
+                        verified.email(),
+                        null,
+                        List.of(new SimpleGrantedAuthority("ROLE_" + verified.role()))
+                    );
+                    auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(auth);
+                }
             }
         } catch (Exception ignored) {
             SecurityContextHolder.clearContext();
@@ -61,4 +100,61 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private boolean isCurrent(VerifiedToken verified) {
+        long startedAt = System.nanoTime();
+        try {
+            return tokenVersionService.isCurrent(verified.userId(), verified.tokenVersion());
+        } finally {
+            tokenVersionTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private VerifiedToken verify(String token) {
+        Claims claims;
+        long startedAt = System.nanoTime();
+        try {
+            //jjwt parses and checks the signature in one call, so "verify" covers both
+            claims = jwtService.verify(token);
+        } catch (JwtException ex) {
+            return null;
+        } finally {
+            verifyTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+        String email = claims.getSubject();
+        if (email == null || !(claims.get("userId") instanceof Number userId)) {
+            return null;
+        }
+        //Tokens issued before token versions existed carry no "ver" claim and count as version 0
+        int tokenVersion = claims.get("ver") instanceof Number ver ? ver.intValue() : 0;
+
+        if (stateless) {
+            String role = claims.get("role", String.class);
+            if (role == null) {
+                return null;
+            }
+            return new VerifiedToken(userId.longValue(), email, role, tokenVersion, claims.getExpiration().toInstant());
+        }
+        startedAt = System.nanoTime();
+        try {
+            return appUserRepository.findByEmail(email)
+                .map(user -> new VerifiedToken(
+                    user.getId(),
+                    user.getEmail(),
+                    user.getRole(),
+                    tokenVersion,
+                    claims.getExpiration().toInstant()
+                ))
+                .orElse(null);
+        } finally {
+            userLookupTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer phaseTimer(MeterRegistry meterRegistry, String phase) {
+        return Timer.builder("auth.filter.phase")
+            .description("Time JwtAuthFilter spends in each step of authenticating a bearer token")
+            .tag("phase", phase)
+            .register(meterRegistry);
+    }
 }
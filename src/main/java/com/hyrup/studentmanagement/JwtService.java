@@ -11,18 +11,27 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
-//JWT service class
+//JWT service class; the signing key and parser are built once since both are immutable and thread-safe
 @Service
 public class JwtService {
 
-    @Value("${app.jwt.secret}")
-    private String secret;
+    private final long expirationSeconds;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
 
-    @Value("${app.jwt.expiration-seconds}")
-    private long expirationSeconds;
+    public JwtService(
+        @Value("${app.jwt.secret}") String secret,
+        @Value("${app.jwt.expiration-seconds}") long expirationSeconds
+    ) {
+        this.expirationSeconds = expirationSeconds;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+    }
 
     public String generateToken(AppUser user) {
         Instant now = Instant.now();
@@ -31,37 +40,31 @@ public class JwtService {
             .claims(Map.of(
                 "userId", user.getId(),
                 "email", user.getEmail(),
-                "role", user.getRole()
+                "role", user.getRole(),
+                "ver", user.getTokenVersion()
             ))
             .subject(user.getEmail())
             .issuedAt(Date.from(now))
             .expiration(Date.from(now.plusSeconds(expirationSeconds)))
-            .signWith(signingKey())
+            .signWith(signingKey)
             .compact();
     }
 
+    //Single parse: verifies the signature and rejects expired tokens, throwing JwtException otherwise
+    public Claims verify(String token) throws JwtException {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
     public String extractEmail(String token) {
-        return parse(token).getSubject();
+        return verify(token).getSubject();
     }
 
     public boolean isValid(String token, AppUser user) {
-        Claims claims = parse(token);
+        Claims claims = verify(token);
         return user.getEmail().equals(claims.getSubject()) && claims.getExpiration().after(new Date());
     }
 
     public long getExpirationSeconds() {
         return expirationSeconds;
     }
-
-    private Claims parse(String token) {
-        return Jwts.parser()
-            .verifyWith(signingKey())
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
-    }
-
-    private SecretKey signingKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-    }
 }
@@ -0,0 +1,92 @@
+package com.hyrup.studentmanagement;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+//In-memory sliding-window limiter for failed logins, per account and per client IP.
+//It is checked before any password hashing, so throttled attempts cost no BCrypt time.
+@Component
+public class LoginAttemptLimiter {
+
+    private final Cache<String, Deque<Long>> failures;
+    private final long windowNanos;
+    private final int maxPerAccount;
+    private final int maxPerIp;
+
+    public LoginAttemptLimiter(
+        @Value("${app.security.login-throttle.window:15m}") Duration window,
+        @Value("${app.security.login-throttle.max-failures-per-account:5}") int maxPerAccount,
+        @Value("${app.security.login-throttle.max-failures-per-ip:50}") int maxPerIp,
+        @Value("${app.security.login-throttle.max-tracked-keys:100000}") long maxTrackedKeys
+    ) {
+        this.windowNanos = window.toNanos();
+        this.maxPerAccount = maxPerAccount;
+        this.maxPerIp = maxPerIp;
+        this.failures = Caffeine.newBuilder()
+            .maximumSize(maxTrackedKeys)
+            .expireAfterAccess(window)
+            .build();
+    }
+
+    public void checkAllowed(String email, String clientIp) {
+        if (countRecent(accountKey(email)) >= maxPerAccount || countRecent(ipKey(clientIp)) >= maxPerIp) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many failed login attempts, try again later");
+        }
+    }
+
+    public void recordFailure(String email, String clientIp) {
+        record(accountKey(email));
+        record(ipKey(clientIp));
+    }
+
+    public void recordSuccess(String email) {
+        failures.invalidate(accountKey(email));
+    }
+
+    private int countRecent(String key) {
+        Deque<Long> attempts = failures.getIfPresent(key);
+        if (attempts == null) {
+            return 0;
+        }
+        synchronized (attempts) {
+            evictOld(attempts, System.nanoTime());
+            return attempts.size();
+        }
+    }
+
+    private void record(String key) {
+        Deque<Long> attempts = failures.get(key, k -> new ArrayDeque<>());
+        long now = System.nanoTime();
+        synchronized (attempts) {
+            evictOld(attempts, now);
+            attempts.addLast(now);
+            //Counts past the larger limit change nothing, so keep the deque bounded
+            if (attempts.size() > Math.max(maxPerAccount, maxPerIp)) {
+                attempts.pollFirst();
+            }
+        }
+    }
+
+    private void evictOld(Deque<Long> attempts, long now) {
+        while (!attempts.isEmpty() && now - attempts.peekFirst() > windowNanos) {
+            attempts.pollFirst();
+        }
+    }
+
+    private static String accountKey(String email) {
+        return "account:" + email;
+    }
+
+    private static String ipKey(String clientIp) {
+        return "ip:" + clientIp;
+    }
+}
@@ -0,0 +1,110 @@
+package com.hyrup.studentmanagement;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PreDestroy;
+
+//Runs BCrypt on a small dedicated pool so hashing bursts cannot occupy every request thread.
+//When the queue is full callers fail fast with 503 instead of piling up behind ~100ms hashes.
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeQueueTimer;
+    private final Timer encodeTimer;
+    private final Timer matchesQueueTimer;
+    private final Timer matchesTimer;
+
+    public PasswordHashingService(
+        PasswordEncoder passwordEncoder,
+        MeterRegistry meterRegistry,
+        @Value("${app.security.hashing.threads:0}") int threads,
+        @Value("${app.security.hashing.queue-capacity:64}") int queueCapacity
+    ) {
+        this.passwordEncoder = passwordEncoder;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "bcrypt-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.encodeQueueTimer = queueTimer(meterRegistry, "encode");
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.matchesQueueTimer = queueTimer(meterRegistry, "matches");
+        this.matchesTimer = hashTimer(meterRegistry, "matches");
+        Gauge.builder("auth.password.hash.queue.depth", executor, e -> e.getQueue().size())
+            .description("Password hashing tasks waiting for a worker")
+            .register(meterRegistry);
+    }
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword), encodeQueueTimer, encodeTimer);
+    }
+
+    public CompletableFuture<Boolean> matches(String rawPassword, String passwordHash) {
+        return submit(() -> passwordEncoder.matches(rawPassword, passwordHash), matchesQueueTimer, matchesTimer);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> work, Timer queueTimer, Timer hashTimer) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long startedAt = System.nanoTime();
+                queueTimer.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return work.get();
+                } finally {
+                    hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            }, executor);
+        } catch (RejectedExecutionException ex) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Authentication is busy, retry shortly");
+        }
+    }
+
+    private static Timer queueTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("auth.password.hash.queue")
+            .description("Time a password hashing task waited for a worker")
+            .tag("operation", operation)
+            .register(meterRegistry);
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("auth.password.hash")
+            .description("Time spent computing BCrypt")
+            .tag("operation", operation)
+            .register(meterRegistry);
+    }
+}
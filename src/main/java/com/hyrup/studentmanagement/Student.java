@@ -3,23 +3,53 @@ package com.hyrup.studentmanagement;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 
 //Student entity class for Mapping student details from DB to object
 @Entity
-@Table(name = "students")
+//Indexes lead with the filter column and end with id so keyset pages are index range scans
+//Unique constraints are named so a violation can be mapped back to the field that caused it
+@Table(name = "students", uniqueConstraints = {
+    @UniqueConstraint(name = Student.STUDENT_ID_CONSTRAINT, columnNames = "student_id"),
+    @UniqueConstraint(name = Student.EMAIL_CONSTRAINT, columnNames = "email")
+}, indexes = {
+    @Index(name = "idx_students_course_id", columnList = "course, id"),
+    @Index(name = "idx_students_status_id", columnList = "status, id"),
+    @Index(name = "idx_students_academic_year_id", columnList = "academic_year, id"),
+    @Index(name = "idx_students_enrollment_date_id", columnList = "enrollment_date, id")
+})
+//Only used when the l2cache profile enables Hibernate's second-level cache
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "students")
+//UPDATE statements list only the changed columns, so a one-field change does not rewrite the whole row
+@DynamicUpdate
 public class Student {
 
+    static final String STUDENT_ID_CONSTRAINT = "uk_students_student_id";
+    static final String EMAIL_CONSTRAINT = "uk_students_email";
+
+    //Ids come from students_seq a block at a time (pooled-lo), so an insert never has to run early to learn its id
+    //and saveAll can send JDBC batches. The sequence's INCREMENT BY is the block size; allocationSize is only the
+    //default it is checked against (see hibernate.id.sequence.increment_size_mismatch_strategy).
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "students_seq")
+    @SequenceGenerator(name = "students_seq", sequenceName = "students_seq", allocationSize = 50)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String studentId;
 
     @Column(nullable = false)
@@ -28,7 +58,7 @@ public class Student {
     @Column(nullable = false)
     private String lastName;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
     @Column(nullable = false)
@@ -58,6 +88,12 @@ public class Student {
     @Column(nullable = false)
     private String status;
 
+    //Optimistic-lock version, bumped on every update and exposed to clients as the ETag
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     public Long getId() {
         return id;
     }
@@ -169,4 +205,8 @@ public class Student {
     public void setStatus(String status) {
         this.status = status;
     }
+
+    public long getVersion() {
+        return version;
+    }
 }
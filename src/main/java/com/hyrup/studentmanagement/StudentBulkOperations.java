@@ -0,0 +1,204 @@
+package com.hyrup.studentmanagement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.hyrup.studentmanagement.StudentController.BulkChanges;
+import com.hyrup.studentmanagement.StudentController.StudentFilter;
+import com.hyrup.studentmanagement.StudentController.StudentResponse;
+
+import jakarta.persistence.EntityManagerFactory;
+
+//Set-based updates and deletes for term rollovers: one statement per request, whatever the number of students
+@Component
+public class StudentBulkOperations {
+
+    private static final String RETURNED_COLUMNS = """
+        s.id, s.student_id, s.first_name, s.last_name, s.email, s.course, s.academic_year, s.enrollment_date, s.gpa,
+        s.phone, s.address, s.emergency_contact_name, s.emergency_contact_phone, s.status, s.version""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StudentChangeFeed studentChangeFeed;
+
+    @Value("${app.students.bulk.max-rows:50000}")
+    private int maxRows;
+
+    public StudentBulkOperations(
+        NamedParameterJdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        EntityManagerFactory entityManagerFactory,
+        ApplicationEventPublisher eventPublisher,
+        StudentChangeFeed studentChangeFeed
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventPublisher = eventPublisher;
+        this.studentChangeFeed = studentChangeFeed;
+    }
+
+    public int update(List<Long> ids, StudentFilter filter, BulkChanges changes) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String where = where(ids, filter, params);
+        params.addValue("limit", maxRows + 1);
+        List<String> assignments = assignments(changes, params);
+
+        //The CTE locks the matched rows, so the old values it returns are the ones this update replaces
+        String sql = """
+            with locked as (
+                select id, course, academic_year, status, version from students s where %s limit :limit for update
+            )
+            update students s set %s, version = s.version + 1
+            from locked
+            where s.id = locked.id
+            returning %s, locked.course as old_course, locked.academic_year as old_academic_year,
+                locked.status as old_status, locked.version as old_version
+            """.formatted(where, String.join(", ", assignments), RETURNED_COLUMNS);
+
+        List<StudentChangedEvent> changed = transactionTemplate.execute(status -> {
+            List<StudentChangedEvent> events = jdbcTemplate.query(sql, params, (rs, rowNum) -> {
+                StudentResponse student = StudentSearch.toResponse(rs);
+                StudentResponse previous = new StudentResponse(
+                    student.id(), student.studentId(), student.firstName(), student.lastName(), student.email(),
+                    rs.getString("old_course"), rs.getInt("old_academic_year"), student.enrollmentDate(),
+                    student.gpa(), student.phone(), student.address(), student.emergencyContactName(),
+                    student.emergencyContactPhone(), rs.getString("old_status"), rs.getLong("old_version")
+                );
+                return StudentChangedEvent.updated(previous, student);
+            });
+            checkLimit(events.size());
+            long outOfRange = events.stream()
+                .filter(event -> event.student().academicYear() < 1 || event.student().academicYear() > 8)
+                .count();
+            if (outOfRange > 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "academicYearIncrement would move " + outOfRange + " students outside academicYear 1-8");
+            }
+            studentChangeFeed.record(events);
+            return events;
+        });
+        return publish(changed);
+    }
+
+    public int delete(List<Long> ids, StudentFilter filter) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String where = where(ids, filter, params);
+        params.addValue("limit", maxRows + 1);
+        String sql = """
+            with locked as (
+                select id from students s where %s limit :limit for update
+            )
+            delete from students s
+            using locked
+            where s.id = locked.id
+            returning %s
+            """.formatted(where, RETURNED_COLUMNS);
+
+        List<StudentChangedEvent> deleted = transactionTemplate.execute(status -> {
+            List<StudentChangedEvent> events = jdbcTemplate.query(sql, params,
+                (rs, rowNum) -> StudentChangedEvent.deleted(StudentSearch.toResponse(rs)));
+            checkLimit(events.size());
+            studentChangeFeed.record(events);
+            return events;
+        });
+        return publish(deleted);
+    }
+
+    private int publish(List<StudentChangedEvent> events) {
+        //Rows changed in SQL bypass Hibernate, so any second-level cache entries for students are now stale
+        entityManagerFactory.getCache().evict(Student.class);
+        //One event for the whole statement, so listeners take their locks once rather than once per student
+        if (!events.isEmpty()) {
+            eventPublisher.publishEvent(new StudentChangedEvent.Batch(events));
+        }
+        return events.size();
+    }
+
+    //Limits are checked on the rows the statement actually wrote, so a throw here rolls the whole write back. The
+    //lock stops one row past the limit, which bounds the work an oversized selection does before it is refused.
+    private void checkLimit(int written) {
+        if (written > maxRows) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Selection matches more than " + maxRows + " students");
+        }
+    }
+
+    private String where(List<Long> ids, StudentFilter filter, MapSqlParameterSource params) {
+        List<String> predicates = new ArrayList<>();
+        if (ids != null && !ids.isEmpty()) {
+            if (ids.size() > maxRows) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids must have at most " + maxRows + " entries");
+            }
+            predicates.add("s.id = any(:ids)");
+            params.addValue("ids", ids.toArray(Long[]::new));
+        }
+        if (filter != null) {
+            if (filter.course() != null) {
+                predicates.add("s.course = :course");
+                params.addValue("course", filter.course());
+            }
+            if (filter.status() != null) {
+                predicates.add("s.status = :status");
+                params.addValue("status", filter.status());
+            }
+            if (filter.academicYear() != null) {
+                predicates.add("s.academic_year = :academicYear");
+                params.addValue("academicYear", filter.academicYear());
+            }
+            if (filter.enrolledFrom() != null) {
+                predicates.add("s.enrollment_date >= :enrolledFrom");
+                params.addValue("enrolledFrom", filter.enrolledFrom());
+            }
+            if (filter.enrolledTo() != null) {
+                predicates.add("s.enrollment_date <= :enrolledTo");
+                params.addValue("enrolledTo", filter.enrolledTo());
+            }
+        }
+        //Never let an empty selection turn into a whole-table write
+        if (predicates.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids or at least one filter field is required");
+        }
+        return String.join(" and ", predicates);
+    }
+
+    private static List<String> assignments(BulkChanges changes, MapSqlParameterSource params) {
+        List<String> assignments = new ArrayList<>();
+        if (changes.course() != null) {
+            assignments.add("course = :newCourse");
+            params.addValue("newCourse", changes.course());
+        }
+        if (changes.status() != null) {
+            assignments.add("status = :newStatus");
+            params.addValue("newStatus", changes.status());
+        }
+        if (changes.academicYear() != null && changes.academicYearIncrement() != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "academicYear and academicYearIncrement cannot be combined");
+        }
+        if (changes.academicYear() != null) {
+            assignments.add("academic_year = :newAcademicYear");
+            params.addValue("newAcademicYear", changes.academicYear());
+        }
+        if (changes.academicYearIncrement() != null) {
+            assignments.add("academic_year = s.academic_year + :newAcademicYearIncrement");
+            params.addValue("newAcademicYearIncrement", changes.academicYearIncrement());
+        }
+        if (assignments.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "set must change at least one field");
+        }
+        return assignments;
+    }
+}
@@ -0,0 +1,132 @@
+package com.hyrup.studentmanagement;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hyrup.studentmanagement.StudentController.StudentResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+//Read-through cache of student responses by id, kept in step with the database by StudentChangedEvent.
+//Concurrent misses for one id share a single load (single flight), whether or not caching is enabled.
+@Component
+public class StudentCache {
+
+    private final Cache<Long, StudentResponse> cache;
+    private final boolean enabled;
+    //Bumped on every write so a load that raced with one never caches what it read
+    private final AtomicLong writeStamp = new AtomicLong();
+    //Loads in progress by id; a miss joins the running future instead of issuing its own query
+    private final ConcurrentMap<Long, CompletableFuture<Optional<StudentResponse>>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    public StudentCache(
+        MeterRegistry meterRegistry,
+        @Value("${app.students.cache.enabled:true}") boolean enabled,
+        @Value("${app.students.cache.max-size:10000}") long maxSize,
+        @Value("${app.students.cache.ttl:10m}") Duration ttl
+    ) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "students");
+        this.coalesced = Counter.builder("students.reads.coalesced")
+            .description("Student reads served by joining a load already in flight for the same id")
+            .register(meterRegistry);
+    }
+
+    //The loader runs outside Caffeine's compute so a slow query never holds a map lock (or pins a virtual thread)
+    public Optional<StudentResponse> get(Long id, Function<Long, Optional<StudentResponse>> loader) {
+        if (enabled) {
+            StudentResponse cached = cache.getIfPresent(id);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+
+        CompletableFuture<Optional<StudentResponse>> flight = new CompletableFuture<>();
+        CompletableFuture<Optional<StudentResponse>> running = inFlight.putIfAbsent(id, flight);
+        if (running != null) {
+            coalesced.increment();
+            try {
+                return running.join();
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+            }
+        }
+
+        //Whatever the loader throws, Errors included, completes the flight, or joined readers would wait forever
+        try {
+            Optional<StudentResponse> loaded = load(id, loader);
+            flight.complete(loaded);
+            return loaded;
+        } catch (Throwable ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(id, flight);
+        }
+    }
+
+    private Optional<StudentResponse> load(Long id, Function<Long, Optional<StudentResponse>> loader) {
+        long stamp = writeStamp.get();
+        Optional<StudentResponse> loaded = loader.apply(id);
+        if (enabled && loaded.isPresent() && writeStamp.get() == stamp) {
+            cache.asMap().putIfAbsent(id, loaded.get());
+            if (writeStamp.get() != stamp) {
+                cache.invalidate(id);
+            }
+        }
+        return loaded;
+    }
+
+    //Updates evict rather than put: with two concurrent updates the last event need not be the last commit
+    @EventListener
+    public void onStudentChanged(StudentChangedEvent event) {
+        if (event.type() == StudentChangedEvent.Type.CREATED) {
+            put(event.student());
+        } else {
+            evict(event.id());
+        }
+    }
+
+    @EventListener
+    public void onStudentsChanged(StudentChangedEvent.Batch batch) {
+        batch.changes().forEach(this::onStudentChanged);
+    }
+
+    //Both also detach any load in flight for the id, so reads that start after the write never join a stale one
+    public void put(StudentResponse student) {
+        writeStamp.incrementAndGet();
+        inFlight.remove(student.id());
+        if (enabled) {
+            cache.put(student.id(), student);
+        }
+    }
+
+    public void evict(Long id) {
+        writeStamp.incrementAndGet();
+        inFlight.remove(id);
+        cache.invalidate(id);
+    }
+}
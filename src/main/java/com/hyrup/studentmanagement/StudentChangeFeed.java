@@ -0,0 +1,405 @@
+package com.hyrup.studentmanagement;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+//Change feed behind GET /api/students/changes. Every student write records its changes in the student_changes table
+//inside its own transaction, so a change is in the feed exactly when it committed. The newest rows, from every
+//instance, are read back into a bounded ring for live subscribers; older resumes replay from the table.
+@Component
+public class StudentChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentChangeFeed.class);
+
+    private static final int WRITE_BATCH_SIZE = 1000;
+    private static final int REPLAY_BATCH_SIZE = 500;
+    private static final long RETRY_MIN_MILLIS = 100;
+    private static final long RETRY_MAX_MILLIS = 30_000;
+
+    //Held from drawing ids until commit by every writer on every instance, so rows become visible in id order and a
+    //reader that has seen id n will never find a smaller id committed later
+    private static final String WRITE_LOCK_SQL = "select pg_advisory_xact_lock(hashtext('student_changes'))";
+
+    private static final String INSERT_SQL =
+        "insert into student_changes (type, student_id, payload, created_at) values (?, ?, ?, ?)";
+
+    private static final String PRUNED_THROUGH_SQL = "select pruned_through from student_change_feed_state";
+
+    private static final String REPLAY_SQL =
+        "select id, type, student_id, payload, created_at from student_changes where id > ? order by id limit ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final long heartbeatNanos;
+    private final Duration retention;
+    private final long pollNanos;
+
+    private final ExecutorService subscribers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Thread poller = new Thread(this::pollLoop, "student-change-feed");
+    private volatile boolean running;
+
+    //Guarded by lock, and only changed by the poller thread. The ring holds the newest changes in id order; any change
+    //with an id at or below floor may be missing from it (evicted, or written before startup) and is read from the
+    //table instead.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private final Change[] ring;
+    private int start;
+    private int size;
+    private long floor = Long.MAX_VALUE;
+    private long latest;
+
+    public StudentChangeFeed(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        ObjectMapper objectMapper,
+        @Value("${app.students.feed.buffer-size:10000}") int bufferSize,
+        @Value("${app.students.feed.heartbeat:15s}") Duration heartbeat,
+        @Value("${app.students.feed.retention:7d}") Duration retention,
+        @Value("${app.students.feed.poll-interval:1s}") Duration pollInterval
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.ring = new Change[bufferSize];
+        this.heartbeatNanos = heartbeat.toNanos();
+        this.retention = retention;
+        this.pollNanos = pollInterval.toNanos();
+        this.poller.setDaemon(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long current = latestStored();
+        lock.lock();
+        try {
+            floor = current;
+            latest = current;
+        } finally {
+            lock.unlock();
+        }
+        running = true;
+        poller.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(poller);
+        poller.join(TimeUnit.SECONDS.toMillis(5));
+        subscribers.shutdownNow();
+    }
+
+    //Must run inside the transaction that writes the students, so the rows commit or roll back with them. The write
+    //lock is then held until that commit, which serializes student writes from this call on; writers call it last,
+    //after their own statements have run.
+    public void record(List<StudentChangedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Student changes must be recorded in the transaction that makes them");
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.queryForObject(WRITE_LOCK_SQL, Object.class);
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, WRITE_BATCH_SIZE, (ps, event) -> {
+            ps.setString(1, event.type().name());
+            ps.setLong(2, event.id());
+            ps.setString(3, toJson(event.student()));
+            ps.setTimestamp(4, now);
+        });
+    }
+
+    public void record(StudentChangedEvent event) {
+        record(List.of(event));
+    }
+
+    //Local commits wake the poller, so this instance's subscribers see them without waiting for the poll interval
+    @EventListener
+    public void onStudentChanged(StudentChangedEvent event) {
+        LockSupport.unpark(poller);
+    }
+
+    @EventListener
+    public void onStudentsChanged(StudentChangedEvent.Batch batch) {
+        LockSupport.unpark(poller);
+    }
+
+    //Without a Last-Event-ID the stream starts at the newest change, so only changes from now on are sent
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter();
+        AtomicBoolean open = new AtomicBoolean(true);
+        emitter.onCompletion(() -> open.set(false));
+        emitter.onTimeout(() -> open.set(false));
+        emitter.onError(ex -> open.set(false));
+
+        long cursor = lastEventId != null ? lastEventId : latest();
+        subscribers.execute(() -> stream(emitter, open, cursor));
+        return emitter;
+    }
+
+    //Each subscriber reads at its own pace on its own virtual thread, so a slow client only delays itself
+    private void stream(SseEmitter emitter, AtomicBoolean open, long from) {
+        long cursor = from;
+        try {
+            emitter.send(SseEmitter.event().comment("connected"));
+            while (open.get()) {
+                List<Change> changes = next(cursor);
+                if (changes == null) {
+                    cursor = reset(emitter, cursor);
+                    continue;
+                }
+                if (changes.isEmpty()) {
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                    continue;
+                }
+                for (Change change : changes) {
+                    emitter.send(SseEmitter.event()
+                        .id(Long.toString(change.id()))
+                        .data(change, MediaType.APPLICATION_JSON));
+                    cursor = change.id();
+                }
+            }
+        } catch (IOException | IllegalStateException ex) {
+            //The client went away or the emitter timed out; it resumes with Last-Event-ID
+        } catch (InterruptedException ex) {
+            emitter.complete();
+        }
+    }
+
+    //Some of the changes after cursor were pruned, so replaying the rest would silently skip them. The client is told
+    //to reload the current state instead, and the stream carries on from the newest change; a reconnect resumes from
+    //the reset's id.
+    private long reset(SseEmitter emitter, long cursor) throws IOException {
+        long prunedThrough = prunedThrough();
+        long resumeFrom = Math.max(latest(), prunedThrough);
+        log.info("Change feed cursor {} is older than the retained changes (pruned through {}), sending a reset",
+            cursor, prunedThrough);
+        emitter.send(SseEmitter.event()
+            .name("reset")
+            .id(Long.toString(resumeFrom))
+            .data(new Reset(cursor, prunedThrough), MediaType.APPLICATION_JSON));
+        return resumeFrom;
+    }
+
+    //Changes after cursor: from the table while the cursor is behind the ring, else from the ring (waiting up to
+    //one heartbeat for the next change). Null when the table no longer holds all of them.
+    private List<Change> next(long cursor) throws InterruptedException {
+        while (true) {
+            boolean behindRing = cursor < floor();
+            if (behindRing) {
+                List<Change> replayed = jdbcTemplate.query(REPLAY_SQL, StudentChangeFeed::toChange, cursor,
+                    REPLAY_BATCH_SIZE);
+                //Read after the rows: pruning moves it in the transaction that deletes them, so a replay that missed
+                //deleted rows always sees it past the cursor
+                if (cursor < prunedThrough()) {
+                    return null;
+                }
+                if (!replayed.isEmpty()) {
+                    return replayed;
+                }
+            }
+
+            lock.lock();
+            try {
+                long nanos = heartbeatNanos;
+                while (latest <= cursor && nanos > 0) {
+                    nanos = appended.awaitNanos(nanos);
+                }
+                //If the ring wrapped past the cursor while waiting, the gap is read from the table on the next pass
+                if (cursor >= floor || behindRing) {
+                    List<Change> changes = new ArrayList<>();
+                    for (int i = firstAfter(cursor); i < size; i++) {
+                        changes.add(ring[(start + i) % ring.length]);
+                    }
+                    return changes;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    //Binary search over the ring's logical positions for the first change with an id above cursor
+    private int firstAfter(long cursor) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ring[(start + mid) % ring.length].id() <= cursor) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    //Reads whatever any instance committed since into the ring: at once after a local commit, else every poll
+    //interval. A failed read is retried with a growing delay; the changes stay in the table meanwhile.
+    private void pollLoop() {
+        long retryMillis = 0;
+        while (running) {
+            try {
+                catchUp();
+                retryMillis = 0;
+                LockSupport.parkNanos(pollNanos);
+            } catch (RuntimeException ex) {
+                retryMillis = Math.min(Math.max(retryMillis * 2, RETRY_MIN_MILLIS), RETRY_MAX_MILLIS);
+                log.warn("Could not read new student changes, retrying in {} ms", retryMillis, ex);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(retryMillis));
+            }
+        }
+    }
+
+    //Only the poller thread moves latest, so it can read it here without the lock
+    private void catchUp() {
+        List<Change> changes;
+        do {
+            changes = jdbcTemplate.query(REPLAY_SQL, StudentChangeFeed::toChange, latest, REPLAY_BATCH_SIZE);
+            append(changes);
+        } while (changes.size() == REPLAY_BATCH_SIZE);
+    }
+
+    private void append(List<Change> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            for (Change change : changes) {
+                if (size == ring.length) {
+                    floor = ring[start].id();
+                    ring[start] = null;
+                    start = (start + 1) % ring.length;
+                    size--;
+                }
+                ring[(start + size) % ring.length] = change;
+                size++;
+                latest = change.id();
+            }
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //Deletes a prefix of the log, up to the newest change past retention, so what is left has no holes and
+    //pruned_through marks exactly where it starts
+    @Scheduled(initialDelayString = "PT1M", fixedDelayString = "PT1H")
+    public void prune() {
+        Timestamp cutoff = Timestamp.from(Instant.now().minus(retention));
+        int deleted = transactionTemplate.execute(status -> {
+            Long through = jdbcTemplate.queryForObject(
+                "select max(id) from student_changes where created_at < ?", Long.class, cutoff);
+            if (through == null) {
+                return 0;
+            }
+            jdbcTemplate.update(
+                "update student_change_feed_state set pruned_through = greatest(pruned_through, ?)", through);
+            return jdbcTemplate.update("delete from student_changes where id <= ?", through);
+        });
+        if (deleted > 0) {
+            log.info("Pruned {} student changes older than {}", deleted, retention);
+        }
+    }
+
+    private long floor() {
+        lock.lock();
+        try {
+            return floor;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long latest() {
+        if (!running) {
+            return latestStored();
+        }
+        lock.lock();
+        try {
+            return latest;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long prunedThrough() {
+        return jdbcTemplate.queryForObject(PRUNED_THROUGH_SQL, Long.class);
+    }
+
+    private long latestStored() {
+        return jdbcTemplate.queryForObject("select coalesce(max(id), 0) from student_changes", Long.class);
+    }
+
+    private static Change toChange(ResultSet rs, int rowNum) throws SQLException {
+        return new Change(
+            rs.getLong("id"),
+            StudentChangedEvent.Type.valueOf(rs.getString("type")),
+            rs.getLong("student_id"),
+            rs.getString("payload"),
+            rs.getTimestamp("created_at").toInstant()
+        );
+    }
+
+    private String toJson(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize student change", ex);
+        }
+    }
+
+    //One feed entry as sent to subscribers: the student's state after the change, or null for a delete
+    public record Change(
+        long id,
+        StudentChangedEvent.Type type,
+        long studentId,
+        @JsonRawValue String student,
+        Instant at
+    ) {
+    }
+
+    //Sent as a "reset" event when changes after the requested cursor were pruned: the client reloads the current
+    //state, then applies the changes that follow
+    public record Reset(long requested, long prunedThrough) {
+    }
+}
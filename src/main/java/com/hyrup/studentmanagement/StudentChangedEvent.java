@@ -0,0 +1,37 @@
+package com.hyrup.studentmanagement;
+
+import java.util.List;
+
+import com.hyrup.studentmanagement.StudentController.StudentResponse;
+
+//Published after a student write has committed; student is the new state (null for a delete),
+//previous the state it replaced (null for a create)
+public record StudentChangedEvent(
+    Type type,
+    long id,
+    StudentResponse student,
+    StudentResponse previous
+) {
+
+    public static StudentChangedEvent created(StudentResponse student) {
+        return new StudentChangedEvent(Type.CREATED, student.id(), student, null);
+    }
+
+    public static StudentChangedEvent updated(StudentResponse previous, StudentResponse student) {
+        return new StudentChangedEvent(Type.UPDATED, student.id(), student, previous);
+    }
+
+    public static StudentChangedEvent deleted(StudentResponse previous) {
+        return new StudentChangedEvent(Type.DELETED, previous.id(), null, previous);
+    }
+
+    //All the changes one statement made (a bulk update or delete, an import chunk), handed to listeners in one call
+    public record Batch(List<StudentChangedEvent> changes) {
+    }
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
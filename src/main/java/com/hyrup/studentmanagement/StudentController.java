@@ -1,22 +1,69 @@
 package com.hyrup.studentmanagement;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.RecordComponent;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
 
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hyrup.studentmanagement.HttpFormatConfig.Representation;
+import com.hyrup.studentmanagement.StudentImporter.ImportReport;
+
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Email;
@@ -25,70 +72,376 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Pattern;
 
 @RestController
 @RequestMapping("/api/students")
 public class StudentController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+    static final List<String> RESPONSE_FIELDS = Arrays.stream(StudentResponse.class.getRecordComponents())
+        .map(RecordComponent::getName)
+        .toList();
+    private static final Set<String> PATCHABLE_FIELDS = Arrays.stream(StudentRequest.class.getRecordComponents())
+        .map(RecordComponent::getName)
+        .collect(Collectors.toUnmodifiableSet());
+
     private final StudentRepository studentRepository;
+    private final StudentExporter studentExporter;
+    private final StudentImporter studentImporter;
+    private final StudentBulkOperations studentBulkOperations;
+    private final StudentCache studentCache;
+    private final StudentSearch studentSearch;
+    private final StudentPrefixIndex studentPrefixIndex;
+    private final StudentStats studentStats;
+    private final StudentChangeFeed studentChangeFeed;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ContentNegotiationManager contentNegotiationManager;
+
+    @Value("${app.students.page.max-limit:500}")
+    private int maxPageLimit;
 
-    public StudentController(StudentRepository studentRepository) {
+    public StudentController(
+        StudentRepository studentRepository,
+        StudentExporter studentExporter,
+        StudentImporter studentImporter,
+        StudentBulkOperations studentBulkOperations,
+        StudentCache studentCache,
+        StudentSearch studentSearch,
+        StudentPrefixIndex studentPrefixIndex,
+        StudentStats studentStats,
+        StudentChangeFeed studentChangeFeed,
+        PlatformTransactionManager transactionManager,
+        ObjectMapper objectMapper,
+        Validator validator,
+        ApplicationEventPublisher eventPublisher,
+        ContentNegotiationManager contentNegotiationManager
+    ) {
         this.studentRepository = studentRepository;
+        this.studentExporter = studentExporter;
+        this.studentImporter = studentImporter;
+        this.studentBulkOperations = studentBulkOperations;
+        this.studentCache = studentCache;
+        this.studentSearch = studentSearch;
+        this.studentPrefixIndex = studentPrefixIndex;
+        this.studentStats = studentStats;
+        this.studentChangeFeed = studentChangeFeed;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.contentNegotiationManager = contentNegotiationManager;
     }
 
     @GetMapping
-    public List<StudentResponse> getAll() {
-        return studentRepository.findAll().stream().map(this::toResponse).toList();
+    public ResponseEntity<StudentPage<?>> getAll(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "50") int limit,
+        @RequestParam(required = false) List<String> fields,
+        StudentFilter filter,
+        WebRequest webRequest
+    ) {
+        if (limit < 1 || limit > maxPageLimit) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + maxPageLimit);
+        }
+        long afterId = decodeCursor(cursor);
+        Representation representation = representation(webRequest);
+
+        //Fetch one extra row to learn whether another page exists without a count query
+        if (fields == null) {
+            List<StudentResponse> rows = studentRepository.findResponsePageAfter(afterId, filter, limit + 1);
+            List<StudentResponse> items = rows.subList(0, Math.min(limit, rows.size()));
+            String nextCursor = rows.size() > limit ? encodeCursor(items.get(limit - 1).id()) : null;
+            String etag = pageEtag(items, StudentResponse::id, StudentResponse::version, nextCursor, "", representation);
+            StudentPage<?> page = new StudentPage<>(items, nextCursor);
+            return conditional(webRequest, representation, etag, page);
+        }
+
+        //Sparse fieldset: id and version are always selected for the cursor and ETag, version is dropped unless asked for
+        Set<String> requested = requestedFields(fields);
+        Set<String> selected = new LinkedHashSet<>(requested);
+        selected.add("version");
+        List<Map<String, Object>> rows = studentRepository.findFieldsPageAfter(afterId, filter, limit + 1, selected);
+        List<Map<String, Object>> items = rows.subList(0, Math.min(limit, rows.size()));
+        String nextCursor = rows.size() > limit ? encodeCursor((Long) items.get(limit - 1).get("id")) : null;
+        String etag = pageEtag(
+            items,
+            row -> (Long) row.get("id"),
+            row -> (Long) row.get("version"),
+            nextCursor,
+            String.join(",", requested),
+            representation
+        );
+        if (!requested.contains("version")) {
+            items.forEach(row -> row.remove("version"));
+        }
+        StudentPage<?> page = new StudentPage<>(items, nextCursor);
+        return conditional(webRequest, representation, etag, page);
+    }
+
+    //Ranked: prefix matches on studentId, email or name first, then fuzzy name matches by trigram similarity
+    @GetMapping("/search")
+    public StudentPage<StudentResponse> search(
+        @RequestParam String q,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int limit
+    ) {
+        String query = searchQuery(q);
+        if (limit < 1 || limit > maxPageLimit) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + maxPageLimit);
+        }
+
+        //Relevance order has no stable key to seek on, so the search cursor carries an offset
+        long offset = decodeCursor(cursor);
+        List<StudentResponse> rows = studentSearch.search(query, offset, limit + 1);
+        List<StudentResponse> items = rows.subList(0, Math.min(limit, rows.size()));
+        return new StudentPage<>(items, rows.size() > limit ? encodeCursor(offset + limit) : null);
+    }
+
+    //Typeahead: served from the in-memory prefix index when it is enabled and loaded, otherwise from the database
+    @GetMapping("/suggest")
+    public List<StudentSuggestion> suggest(@RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+        String query = searchQuery(q);
+        if (limit < 1 || limit > 50) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and 50");
+        }
+        return studentPrefixIndex.isReady()
+            ? studentPrefixIndex.suggest(query, limit)
+            : studentSearch.suggest(query, limit);
+    }
+
+    //Served from in-memory aggregates, so it costs no query however many students there are
+    @GetMapping("/stats")
+    public StudentStats.StatsSnapshot stats() {
+        return studentStats.snapshot();
+    }
+
+    //Server-Sent Events stream of creates, updates and deletes. Reconnecting clients resume after Last-Event-ID;
+    //"after" does the same for clients that cannot set headers on the first connect.
+    @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changes(
+        @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId,
+        @RequestParam(required = false) Long after
+    ) {
+        return studentChangeFeed.subscribe(lastEventId != null ? lastEventId : after);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format) {
+        return switch (format.toLowerCase()) {
+            case "ndjson" -> exportResponse(NDJSON, "students.ndjson", studentExporter::writeNdjson);
+            case "csv" -> exportResponse(CSV, "students.csv", studentExporter::writeCsv);
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be ndjson or csv");
+        };
     }
 
     @GetMapping("/{id}")
-    public StudentResponse getById(@PathVariable Long id) {
-        Student student = studentRepository.findById(id)
+    public ResponseEntity<Object> getById(
+        @PathVariable Long id,
+        @RequestParam(required = false) List<String> fields,
+        WebRequest webRequest
+    ) {
+        StudentResponse student = studentCache.get(id, studentRepository::findResponseById)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Student not found"));
-        return toResponse(student);
+
+        //The cache holds whole responses, so a sparse fieldset here trims the payload rather than the query
+        Object body = student;
+        if (fields != null) {
+            ObjectNode node = objectMapper.valueToTree(student);
+            node.retain(requestedFields(fields));
+            body = node;
+        }
+        Representation representation = representation(webRequest);
+        return conditional(webRequest, representation, etag(student.version(), representation), body);
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public StudentResponse create(@Valid @RequestBody StudentRequest request) {
-        if (studentRepository.existsByStudentId(request.studentId())) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "studentId already exists");
+        Student student = new Student();
+        applyRequest(request, student);
+        StudentChangedEvent change;
+        try {
+            //Flushed before the feed entry, so a duplicate key fails before the feed lock is taken
+            change = transactionTemplate.execute(status -> {
+                StudentChangedEvent created =
+                    StudentChangedEvent.created(toResponse(studentRepository.saveAndFlush(student)));
+                studentChangeFeed.record(created);
+                return created;
+            });
+        } catch (DataIntegrityViolationException ex) {
+            throw duplicateKeyConflict(ex);
         }
-        if (studentRepository.existsByEmail(request.email())) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "student email already exists");
+        eventPublisher.publishEvent(change);
+        return change.student();
+    }
+
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ImportReport importJson(@RequestBody List<StudentRequest> requests) {
+        return studentImporter.importRows(requests);
+    }
+
+    @PostMapping(path = "/import", consumes = "text/csv")
+    public ImportReport importCsv(InputStream body) throws IOException {
+        return studentImporter.importCsv(new InputStreamReader(body, StandardCharsets.UTF_8));
+    }
+
+    @PostMapping(path = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ImportReport importCsvFile(@RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return studentImporter.importCsv(new InputStreamReader(in, StandardCharsets.UTF_8));
         }
+    }
 
-        Student student = new Student();
-        applyRequest(request, student);
-        return toResponse(studentRepository.save(student));
+    //Selects students by ids, filter, or both (intersected) and applies one UPDATE to all of them
+    @PostMapping("/bulk-update")
+    public BulkResult bulkUpdate(@Valid @RequestBody BulkUpdateRequest request) {
+        return new BulkResult(studentBulkOperations.update(request.ids(), request.filter(), request.set()));
+    }
+
+    @PostMapping("/bulk-delete")
+    public BulkResult bulkDelete(@RequestBody BulkSelection request) {
+        return new BulkResult(studentBulkOperations.delete(request.ids(), request.filter()));
     }
 
     @PutMapping("/{id}")
-    public StudentResponse update(@PathVariable Long id, @Valid @RequestBody StudentRequest request) {
-        Student student = studentRepository.findById(id)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Student not found"));
+    public ResponseEntity<StudentResponse> update(
+        @PathVariable Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @Valid @RequestBody StudentRequest request,
+        WebRequest webRequest
+    ) {
+        return applyUpdate(id, ifMatch, webRequest, student -> request);
+    }
 
-        if (studentRepository.existsByStudentIdAndIdNot(request.studentId(), id)) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "studentId already exists");
-        }
-        if (studentRepository.existsByEmailAndIdNot(request.email(), id)) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "student email already exists");
+    //JSON Merge Patch (RFC 7396): only the supplied fields are validated and, with @DynamicUpdate, written
+    @PatchMapping(path = "/{id}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<StudentResponse> patch(
+        @PathVariable Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestBody ObjectNode patch,
+        WebRequest webRequest
+    ) {
+        for (Iterator<String> names = patch.fieldNames(); names.hasNext(); ) {
+            String name = names.next();
+            if (!PATCHABLE_FIELDS.contains(name)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown field: " + name);
+            }
+            if (patch.get(name).isNull()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, name + " is required and cannot be removed");
+            }
         }
-
-        applyRequest(request, student);
-        return toResponse(studentRepository.save(student));
+        return applyUpdate(id, ifMatch, webRequest, student -> mergePatch(student, patch));
     }
 
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void delete(@PathVariable Long id) {
-        if (!studentRepository.existsById(id)) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Student not found");
+        StudentChangedEvent change;
+        try {
+            //The deleted state goes out with the event so listeners can subtract it
+            change = transactionTemplate.execute(status -> {
+                Student student = studentRepository.findById(id)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Student not found"));
+                studentRepository.delete(student);
+                studentRepository.flush();
+                StudentChangedEvent deleted = StudentChangedEvent.deleted(toResponse(student));
+                studentChangeFeed.record(deleted);
+                return deleted;
+            });
+        } catch (OptimisticLockingFailureException ex) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Student has been modified");
         }
-        studentRepository.deleteById(id);
+        eventPublisher.publishEvent(change);
     }
 
-    private void applyRequest(StudentRequest request, Student student) {
+    //Managed entity inside one transaction: dirty checking writes it, no second select from merge
+    private ResponseEntity<StudentResponse> applyUpdate(
+        Long id,
+        String ifMatch,
+        WebRequest webRequest,
+        Function<Student, StudentRequest> changes
+    ) {
+        Representation representation = representation(webRequest);
+        StudentChangedEvent change;
+        try {
+            change = transactionTemplate.execute(status -> {
+                Student student = studentRepository.findById(id)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Student not found"));
+
+                if (ifMatch != null && !matchesEtag(ifMatch, student.getVersion())) {
+                    throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Student has been modified");
+                }
+                StudentResponse previous = toResponse(student);
+                applyRequest(changes.apply(student), student);
+                StudentChangedEvent updated =
+                    StudentChangedEvent.updated(previous, toResponse(studentRepository.saveAndFlush(student)));
+                studentChangeFeed.record(updated);
+                return updated;
+            });
+        } catch (DataIntegrityViolationException ex) {
+            throw duplicateKeyConflict(ex);
+        } catch (OptimisticLockingFailureException ex) {
+            //Another update committed between our read and our write
+            throw new ResponseStatusException(
+                ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT,
+                "Student has been modified"
+            );
+        }
+
+        eventPublisher.publishEvent(change);
+        StudentResponse response = change.student();
+        return withRepresentation(ResponseEntity.ok().eTag(etag(response.version(), representation)), representation)
+            .body(response);
+    }
+
+    //Uniqueness is left to the database constraints; a violation maps back to the same 409 as before.
+    //The key in the message covers constraints created before they were named.
+    private static RuntimeException duplicateKeyConflict(DataIntegrityViolationException ex) {
+        String constraint = ex.getCause() instanceof ConstraintViolationException violation
+            ? violation.getConstraintName()
+            : null;
+        String detail = String.valueOf(ex.getMostSpecificCause().getMessage());
+        if (Student.STUDENT_ID_CONSTRAINT.equals(constraint) || detail.contains("Key (student_id)")) {
+            return new ResponseStatusException(HttpStatus.CONFLICT, "studentId already exists");
+        }
+        if (Student.EMAIL_CONSTRAINT.equals(constraint) || detail.contains("Key (email)")) {
+            return new ResponseStatusException(HttpStatus.CONFLICT, "student email already exists");
+        }
+        return ex;
+    }
+
+    private StudentRequest mergePatch(Student student, ObjectNode patch) {
+        ObjectNode merged = objectMapper.valueToTree(toRequest(student));
+        merged.setAll(patch);
+
+        StudentRequest request;
+        try {
+            request = objectMapper.treeToValue(merged, StudentRequest.class);
+        } catch (JsonProcessingException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed patch: " + ex.getOriginalMessage());
+        }
+
+        //Untouched fields were valid when stored; only re-check the ones being changed
+        for (Iterator<String> names = patch.fieldNames(); names.hasNext(); ) {
+            Set<ConstraintViolation<StudentRequest>> violations = validator.validateProperty(request, names.next());
+            if (!violations.isEmpty()) {
+                ConstraintViolation<StudentRequest> violation = violations.iterator().next();
+                throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    violation.getPropertyPath() + ": " + violation.getMessage()
+                );
+            }
+        }
+        return request;
+    }
+
+    static void applyRequest(StudentRequest request, Student student) {
         student.setStudentId(request.studentId());
         student.setFirstName(request.firstName());
         student.setLastName(request.lastName());
@@ -104,7 +457,156 @@ public class StudentController {
         student.setStatus(request.status());
     }
 
-    private StudentResponse toResponse(Student student) {
+    private ResponseEntity<StreamingResponseBody> exportResponse(
+        MediaType mediaType,
+        String fileName,
+        StreamingResponseBody body
+    ) {
+        return ResponseEntity.ok()
+            .contentType(mediaType)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+            .body(body);
+    }
+
+    //Answers If-None-Match with 304 before anything is serialized
+    private static <T> ResponseEntity<T> conditional(
+        WebRequest webRequest,
+        Representation representation,
+        String etag,
+        T body
+    ) {
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        //The body depends on Accept, so shared caches must key on it as well
+        return withRepresentation(ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT), representation).body(body);
+    }
+
+    //Negotiated here rather than by the message converters, so the ETag is known before the body is written
+    private Representation representation(WebRequest webRequest) {
+        try {
+            return Representation.negotiate(contentNegotiationManager.resolveMediaTypes((NativeWebRequest) webRequest));
+        } catch (HttpMediaTypeNotAcceptableException ex) {
+            return null;
+        }
+    }
+
+    //Pins the Content-Type to the format the ETag names; with nothing acceptable Spring MVC still answers 406
+    private static ResponseEntity.BodyBuilder withRepresentation(
+        ResponseEntity.BodyBuilder response,
+        Representation representation
+    ) {
+        return representation != null ? response.contentType(representation.mediaType()) : response;
+    }
+
+    private static String searchQuery(String q) {
+        String query = q.trim();
+        if (query.isEmpty() || query.length() > 100) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "q must be between 1 and 100 characters");
+        }
+        return query;
+    }
+
+    //id is always part of a sparse fieldset; unknown names are rejected rather than silently dropped
+    private static Set<String> requestedFields(List<String> fields) {
+        Set<String> requested = new LinkedHashSet<>();
+        requested.add("id");
+        for (String field : fields) {
+            String name = field.trim();
+            if (!RESPONSE_FIELDS.contains(name)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown field: " + name);
+            }
+            requested.add(name);
+        }
+        return requested;
+    }
+
+    //JSON keeps the bare version, so tags clients already hold stay valid
+    private static String etag(long version, Representation representation) {
+        return "\"" + version + (representation != null ? representation.etagSuffix() : "") + "\"";
+    }
+
+    //If-Match uses strong comparison, so weak validators never match. The tag of any format names the same version.
+    private static boolean matchesEtag(String ifMatch, long version) {
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            for (Representation representation : Representation.values()) {
+                if (tag.equals(etag(version, representation))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    //Changes whenever any row on the page is added, removed or updated, or a different fieldset or format is asked for.
+    //Weak, since pages are only revalidated, never If-Match'ed, and Tomcat will not compress a strong-ETag response.
+    private static <T> String pageEtag(
+        List<T> items,
+        ToLongFunction<T> id,
+        ToLongFunction<T> version,
+        String nextCursor,
+        String fieldset,
+        Representation representation
+    ) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            ByteBuffer entry = ByteBuffer.allocate(2 * Long.BYTES);
+            for (T item : items) {
+                entry.clear();
+                digest.update(entry.putLong(id.applyAsLong(item)).putLong(version.applyAsLong(item)).array());
+            }
+            if (nextCursor != null) {
+                digest.update(nextCursor.getBytes(StandardCharsets.US_ASCII));
+            }
+            digest.update(fieldset.getBytes(StandardCharsets.US_ASCII));
+            if (representation != null) {
+                digest.update(representation.etagSuffix().getBytes(StandardCharsets.US_ASCII));
+            }
+            return "W/\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    private String encodeCursor(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(Long.toString(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static StudentRequest toRequest(Student student) {
+        return new StudentRequest(
+            student.getStudentId(),
+            student.getFirstName(),
+            student.getLastName(),
+            student.getEmail(),
+            student.getCourse(),
+            student.getAcademicYear(),
+            student.getEnrollmentDate(),
+            student.getGpa(),
+            student.getPhone(),
+            student.getAddress(),
+            student.getEmergencyContactName(),
+            student.getEmergencyContactPhone(),
+            student.getStatus()
+        );
+    }
+
+    static StudentResponse toResponse(Student student) {
         return new StudentResponse(
             student.getId(),
             student.getStudentId(),
@@ -119,7 +621,8 @@ public class StudentController {
             student.getAddress(),
             student.getEmergencyContactName(),
             student.getEmergencyContactPhone(),
-            student.getStatus()
+            student.getStatus(),
+            student.getVersion()
         );
     }
 
@@ -140,6 +643,55 @@ public class StudentController {
     ) {
     }
 
+    public record StudentFilter(
+        String course,
+        String status,
+        Integer academicYear,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate enrolledFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate enrolledTo
+    ) {
+    }
+
+    public record BulkSelection(
+        List<Long> ids,
+        StudentFilter filter
+    ) {
+    }
+
+    public record BulkUpdateRequest(
+        List<Long> ids,
+        StudentFilter filter,
+        @NotNull @Valid BulkChanges set
+    ) {
+    }
+
+    //Fields left null are unchanged; academicYearIncrement shifts each student's year, e.g. 1 at a term rollover
+    public record BulkChanges(
+        @Pattern(regexp = ".*\\S.*", message = "must not be blank") String course,
+        @Pattern(regexp = ".*\\S.*", message = "must not be blank") String status,
+        @Min(1) @Max(8) Integer academicYear,
+        Integer academicYearIncrement
+    ) {
+    }
+
+    public record BulkResult(int affected) {
+    }
+
+    public record StudentPage<T>(
+        List<T> items,
+        String nextCursor
+    ) {
+    }
+
+    public record StudentSuggestion(
+        long id,
+        String studentId,
+        String firstName,
+        String lastName,
+        String email
+    ) {
+    }
+
     public record StudentResponse(
         Long id,
         String studentId,
@@ -154,7 +706,8 @@ public class StudentController {
         String address,
         String emergencyContactName,
         String emergencyContactPhone,
-        String status
+        String status,
+        long version
     ) {
     }
 }
@@ -0,0 +1,135 @@
+package com.hyrup.studentmanagement;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hyrup.studentmanagement.StudentController.StudentResponse;
+
+//Streams the students table from a database cursor straight to the response, one row in memory at a time
+@Component
+public class StudentExporter {
+
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private static final String CSV_HEADER = "id,studentId,firstName,lastName,email,course,academicYear,"
+        + "enrollmentDate,gpa,phone,address,emergencyContactName,emergencyContactPhone,status";
+
+    private final StudentRepository studentRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public StudentExporter(
+        StudentRepository studentRepository,
+        PlatformTransactionManager transactionManager,
+        ObjectMapper objectMapper
+    ) {
+        this.studentRepository = studentRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public void writeNdjson(OutputStream out) throws IOException {
+        //Flushing is left to forEachStudent; the writer's default would flush to the client after every row
+        ObjectWriter writer = objectMapper.writerFor(StudentResponse.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            //Each row ends its own line, so nothing goes between root values and an empty export is an empty body
+            generator.setRootValueSeparator(null);
+            forEachStudent(response -> {
+                try {
+                    writer.writeValue(generator, response);
+                    generator.writeRaw('\n');
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }, generator::flush);
+        }
+    }
+
+    public void writeCsv(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        forEachStudent(response -> {
+            try {
+                writeCsvRow(writer, response);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }, writer::flush);
+        writer.flush();
+    }
+
+    private void forEachStudent(Consumer<StudentResponse> sink, Flusher flusher) throws IOException {
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                //Rows are read straight into responses, so the persistence context stays empty however many stream by
+                try (Stream<StudentResponse> students = studentRepository.streamResponses()) {
+                    int[] written = {0};
+                    students.forEach(student -> {
+                        sink.accept(student);
+                        if (++written[0] % FLUSH_EVERY_ROWS == 0) {
+                            try {
+                                flusher.flush();
+                            } catch (IOException ex) {
+                                throw new UncheckedIOException(ex);
+                            }
+                        }
+                    });
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private void writeCsvRow(Writer writer, StudentResponse r) throws IOException {
+        writer.write(String.valueOf(r.id()));
+        writeCsvField(writer, r.studentId());
+        writeCsvField(writer, r.firstName());
+        writeCsvField(writer, r.lastName());
+        writeCsvField(writer, r.email());
+        writeCsvField(writer, r.course());
+        writeCsvField(writer, String.valueOf(r.academicYear()));
+        writeCsvField(writer, String.valueOf(r.enrollmentDate()));
+        writeCsvField(writer, r.gpa().toPlainString());
+        writeCsvField(writer, r.phone());
+        writeCsvField(writer, r.address());
+        writeCsvField(writer, r.emergencyContactName());
+        writeCsvField(writer, r.emergencyContactPhone());
+        writeCsvField(writer, r.status());
+        writer.write('\n');
+    }
+
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        writer.write(',');
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    @FunctionalInterface
+    private interface Flusher {
+        void flush() throws IOException;
+    }
+}
@@ -0,0 +1,383 @@
+package com.hyrup.studentmanagement;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.hyrup.studentmanagement.StudentController.StudentRequest;
+import com.hyrup.studentmanagement.StudentController.StudentResponse;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+//Bulk student import: validates all rows, checks uniqueness with set-based queries and inserts with JDBC batches
+@Component
+public class StudentImporter {
+
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    private static final String INSERT_SQL = """
+        insert into students (id, student_id, first_name, last_name, email, course, academic_year, enrollment_date,
+            gpa, phone, address, emergency_contact_name, emergency_contact_phone, status)
+        values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    //Ids are drawn up front so created rows can be announced without reading them back. students_seq hands out
+    //blocks the way Hibernate's pooled-lo optimizer reads them (nextval is the first of INCREMENT BY ids), so a chunk
+    //takes whole blocks and never overlaps ids that saves are using.
+    private static final String ID_BLOCK_SIZE_SQL =
+        "select increment_by from pg_sequences where schemaname = current_schema() and sequencename = 'students_seq'";
+
+    private static final String ALLOCATE_ID_BLOCKS_SQL = "select nextval('students_seq') from generate_series(1, ?)";
+
+    private static final List<String> CSV_COLUMNS = List.of(
+        "studentId", "firstName", "lastName", "email", "course", "academicYear", "enrollmentDate",
+        "gpa", "phone", "address", "emergencyContactName", "emergencyContactPhone", "status"
+    );
+
+    private final StudentRepository studentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StudentChangeFeed studentChangeFeed;
+
+    @Value("${app.students.import.max-rows:50000}")
+    private int maxRows;
+
+    @Value("${app.students.import.batch-size:500}")
+    private int batchSize;
+
+    public StudentImporter(
+        StudentRepository studentRepository,
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        Validator validator,
+        ApplicationEventPublisher eventPublisher,
+        StudentChangeFeed studentChangeFeed
+    ) {
+        this.studentRepository = studentRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.studentChangeFeed = studentChangeFeed;
+    }
+
+    public ImportReport importRows(List<StudentRequest> requests) {
+        List<ImportRow> rows = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            rows.add(new ImportRow(i + 1, requests.get(i)));
+        }
+        return importParsed(rows);
+    }
+
+    public ImportReport importCsv(Reader source) throws IOException {
+        BufferedReader reader = new BufferedReader(source);
+        List<String> header = parseCsvLine(reader.readLine());
+        if (header == null || !header.containsAll(CSV_COLUMNS)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV header must contain " + CSV_COLUMNS);
+        }
+
+        List<ImportRow> rows = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            checkRowLimit(rows.size() + 1);
+            List<String> values = parseCsvLine(line);
+            Map<String, String> record = new HashMap<>();
+            for (int i = 0; i < header.size() && i < values.size(); i++) {
+                record.put(header.get(i), values.get(i));
+            }
+            rows.add(toImportRow(rows.size() + 1, record));
+        }
+        return importParsed(rows);
+    }
+
+    private ImportReport importParsed(List<ImportRow> rows) {
+        checkRowLimit(rows.size());
+
+        Set<String> batchStudentIds = new HashSet<>();
+        Set<String> batchEmails = new HashSet<>();
+        for (ImportRow row : rows) {
+            if (row.request == null) {
+                row.reject("row must be a student object");
+                continue;
+            }
+            if (!row.errors.isEmpty()) {
+                continue;
+            }
+            for (ConstraintViolation<StudentRequest> violation : validator.validate(row.request)) {
+                row.reject(violation.getPropertyPath() + ": " + violation.getMessage());
+            }
+            if (!row.errors.isEmpty()) {
+                continue;
+            }
+            row.email = row.request.email().trim().toLowerCase();
+            if (!batchStudentIds.add(row.request.studentId())) {
+                row.reject("studentId duplicated within import");
+            }
+            if (!batchEmails.add(row.email)) {
+                row.reject("student email duplicated within import");
+            }
+        }
+
+        Set<String> existingStudentIds = findExisting(batchStudentIds, studentRepository::findExistingStudentIds);
+        Set<String> existingEmails = findExisting(batchEmails, studentRepository::findExistingEmails);
+
+        List<ImportRow> accepted = new ArrayList<>();
+        for (ImportRow row : rows) {
+            if (!row.errors.isEmpty()) {
+                continue;
+            }
+            if (existingStudentIds.contains(row.request.studentId())) {
+                row.reject("studentId already exists");
+            }
+            if (existingEmails.contains(row.email)) {
+                row.reject("student email already exists");
+            }
+            if (row.errors.isEmpty()) {
+                accepted.add(row);
+            }
+        }
+
+        for (int from = 0; from < accepted.size(); from += batchSize) {
+            insertChunk(accepted.subList(from, Math.min(from + batchSize, accepted.size())));
+        }
+
+        List<RowResult> results = rows.stream().map(ImportRow::toResult).toList();
+        int created = (int) results.stream().filter(r -> r.status() == RowStatus.CREATED).count();
+        return new ImportReport(rows.size(), created, rows.size() - created, results);
+    }
+
+    private void insertChunk(List<ImportRow> chunk) {
+        try {
+            List<StudentChangedEvent> created = transactionTemplate.execute(status -> {
+                //A row retried on its own keeps the id it was given; sequence values survive the rollback
+                List<ImportRow> unassigned = chunk.stream().filter(row -> row.id == 0).toList();
+                List<Long> ids = allocateIds(unassigned.size());
+                for (int i = 0; i < unassigned.size(); i++) {
+                    unassigned.get(i).id = ids.get(i);
+                }
+                jdbcTemplate.batchUpdate(INSERT_SQL, chunk, chunk.size(), (ps, row) -> {
+                    StudentRequest r = row.request;
+                    ps.setLong(1, row.id);
+                    ps.setString(2, r.studentId());
+                    ps.setString(3, r.firstName());
+                    ps.setString(4, r.lastName());
+                    ps.setString(5, row.email);
+                    ps.setString(6, r.course());
+                    ps.setInt(7, r.academicYear());
+                    ps.setDate(8, Date.valueOf(r.enrollmentDate()));
+                    ps.setBigDecimal(9, r.gpa());
+                    ps.setString(10, r.phone());
+                    ps.setString(11, r.address());
+                    ps.setString(12, r.emergencyContactName());
+                    ps.setString(13, r.emergencyContactPhone());
+                    ps.setString(14, r.status());
+                });
+                List<StudentChangedEvent> changes = new ArrayList<>(chunk.size());
+                for (ImportRow row : chunk) {
+                    changes.add(StudentChangedEvent.created(row.toResponse()));
+                }
+                studentChangeFeed.record(changes);
+                return changes;
+            });
+            chunk.forEach(row -> row.created = true);
+            eventPublisher.publishEvent(new StudentChangedEvent.Batch(created));
+        } catch (DataIntegrityViolationException ex) {
+            //The whole chunk rolled back; inserting its rows one at a time rejects only the rows the database refuses
+            if (chunk.size() > 1) {
+                chunk.forEach(row -> insertChunk(List.of(row)));
+            } else {
+                chunk.get(0).reject(rejection(ex));
+            }
+        }
+    }
+
+    //A unique violation here means a concurrent writer took the key after the uniqueness lookup. Anything else (NOT
+    //NULL, check, length) is a problem with the row itself that a retry would hit again.
+    private static String rejection(DataIntegrityViolationException ex) {
+        String detail = String.valueOf(ex.getMostSpecificCause().getMessage());
+        if (ex instanceof DuplicateKeyException) {
+            if (detail.contains(Student.STUDENT_ID_CONSTRAINT) || detail.contains("Key (student_id)")) {
+                return "studentId already exists";
+            }
+            if (detail.contains(Student.EMAIL_CONSTRAINT) || detail.contains("Key (email)")) {
+                return "student email already exists";
+            }
+        }
+        String reason = detail.lines().findFirst().orElse(detail).replaceFirst("^ERROR: ", "");
+        return "rejected by the database: " + reason;
+    }
+
+    private List<Long> allocateIds(int count) {
+        long blockSize = jdbcTemplate.queryForObject(ID_BLOCK_SIZE_SQL, Long.class);
+        int blocks = (int) ((count + blockSize - 1) / blockSize);
+        List<Long> ids = new ArrayList<>(count);
+        for (long first : jdbcTemplate.queryForList(ALLOCATE_ID_BLOCKS_SQL, Long.class, blocks)) {
+            for (long id = first; id < first + blockSize && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private Set<String> findExisting(Set<String> candidates, Function<List<String>, Set<String>> lookup) {
+        List<String> values = new ArrayList<>(candidates);
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < values.size(); from += LOOKUP_CHUNK_SIZE) {
+            existing.addAll(lookup.apply(values.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, values.size()))));
+        }
+        return existing;
+    }
+
+    private void checkRowLimit(int count) {
+        if (count > maxRows) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "import is limited to " + maxRows + " rows");
+        }
+    }
+
+    private ImportRow toImportRow(int rowNumber, Map<String, String> record) {
+        List<String> errors = new ArrayList<>();
+        StudentRequest request = new StudentRequest(
+            record.get("studentId"),
+            record.get("firstName"),
+            record.get("lastName"),
+            record.get("email"),
+            record.get("course"),
+            parseField(record, "academicYear", Integer::valueOf, errors),
+            parseField(record, "enrollmentDate", LocalDate::parse, errors),
+            parseField(record, "gpa", BigDecimal::new, errors),
+            record.get("phone"),
+            record.get("address"),
+            record.get("emergencyContactName"),
+            record.get("emergencyContactPhone"),
+            record.get("status")
+        );
+        ImportRow row = new ImportRow(rowNumber, request);
+        errors.forEach(row::reject);
+        return row;
+    }
+
+    private <T> T parseField(Map<String, String> record, String column, Function<String, T> parser, List<String> errors) {
+        String value = record.get(column);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return parser.apply(value.trim());
+        } catch (RuntimeException ex) {
+            errors.add(column + ": invalid value '" + value + "'");
+            return null;
+        }
+    }
+
+    //Minimal RFC 4180 line parser; quoted fields may contain commas and doubled quotes but not line breaks
+    private List<String> parseCsvLine(String line) {
+        if (line == null) {
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private static final class ImportRow {
+        private final int rowNumber;
+        private final StudentRequest request;
+        private final List<String> errors = new ArrayList<>();
+        private String email;
+        private long id;
+        private boolean created;
+
+        private ImportRow(int rowNumber, StudentRequest request) {
+            this.rowNumber = rowNumber;
+            this.request = request;
+        }
+
+        private void reject(String error) {
+            errors.add(error);
+        }
+
+        private StudentResponse toResponse() {
+            Student student = new Student();
+            StudentController.applyRequest(request, student);
+            student.setId(id);
+            return StudentController.toResponse(student);
+        }
+
+        private RowResult toResult() {
+            String studentId = request == null ? null : request.studentId();
+            return created
+                ? new RowResult(rowNumber, studentId, RowStatus.CREATED, List.of())
+                : new RowResult(rowNumber, studentId, RowStatus.REJECTED, List.copyOf(errors));
+        }
+    }
+
+    public enum RowStatus {
+        CREATED,
+        REJECTED
+    }
+
+    public record RowResult(
+        int row,
+        String studentId,
+        RowStatus status,
+        List<String> errors
+    ) {
+    }
+
+    public record ImportReport(
+        int received,
+        int created,
+        int rejected,
+        List<RowResult> rows
+    ) {
+    }
+}
@@ -3,10 +3,12 @@ package com.hyrup.studentmanagement;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 //Main spring application program
 @SpringBootApplication
 @ConfigurationPropertiesScan
+@EnableScheduling
 public class StudentManagementApplication {
     public static void main(String[] args) {
         SpringApplication.run(StudentManagementApplication.class, args);
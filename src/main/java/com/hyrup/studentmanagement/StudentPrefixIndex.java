@@ -0,0 +1,206 @@
+package com.hyrup.studentmanagement;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.hyrup.studentmanagement.StudentController.StudentResponse;
+import com.hyrup.studentmanagement.StudentController.StudentSuggestion;
+
+//Optional in-memory typeahead index: lowercased studentId, email and name words, kept current by StudentChangedEvent
+//and rebuilt from the database periodically
+@Component
+public class StudentPrefixIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentPrefixIndex.class);
+
+    private final StudentRepository studentRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+
+    //Replaced whole by each rebuild; events change it in place, holding the lock
+    private volatile Entries entries = new Entries();
+    //Events seen while a rebuild reads the table, in arrival order. Its read may or may not have seen each of them.
+    private List<StudentChangedEvent> racing;
+    private volatile boolean ready;
+
+    public StudentPrefixIndex(
+        StudentRepository studentRepository,
+        PlatformTransactionManager transactionManager,
+        @Value("${app.students.search.prefix-index.enabled:false}") boolean enabled
+    ) {
+        this.studentRepository = studentRepository;
+        this.enabled = enabled;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    //Picks up writes the events cannot see: other instances, bulk SQL, or anything changed outside the API.
+    //The new index is filled off to the side, so suggestions keep coming from the old one until the swap.
+    @Scheduled(
+        initialDelayString = "${app.students.search.prefix-index.rebuild-interval:PT10M}",
+        fixedDelayString = "${app.students.search.prefix-index.rebuild-interval:PT10M}"
+    )
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        synchronized (this) {
+            racing = new ArrayList<>();
+        }
+        try {
+            Entries fresh = new Entries();
+            Map<Long, Long> versions = new HashMap<>();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<StudentResponse> all = studentRepository.streamResponses()) {
+                    all.forEach(student -> {
+                        fresh.upsert(student);
+                        versions.put(student.id(), student.version());
+                    });
+                }
+            });
+            boolean first = !ready;
+            synchronized (this) {
+                //Replays the racing changes the read did not see: deletes always, writes newer than the row it read
+                for (StudentChangedEvent event : racing) {
+                    Long version = versions.get(event.id());
+                    if (event.student() == null || version == null || event.student().version() > version) {
+                        fresh.apply(event);
+                    }
+                }
+                entries = fresh;
+                ready = true;
+            }
+            if (first) {
+                log.info("Student prefix index loaded {} students in {} ms",
+                    versions.size(), (System.nanoTime() - started) / 1_000_000);
+            } else {
+                log.debug("Student prefix index rebuilt with {} students in {} ms",
+                    versions.size(), (System.nanoTime() - started) / 1_000_000);
+            }
+        } finally {
+            synchronized (this) {
+                racing = null;
+            }
+        }
+    }
+
+    @EventListener
+    public synchronized void onStudentChanged(StudentChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (racing != null) {
+            racing.add(event);
+        }
+        entries.apply(event);
+    }
+
+    @EventListener
+    public synchronized void onStudentsChanged(StudentChangedEvent.Batch batch) {
+        batch.changes().forEach(this::onStudentChanged);
+    }
+
+    //Exact matches first, then matches in token order, so shorter completions come before longer ones
+    public List<StudentSuggestion> suggest(String query, int limit) {
+        Entries current = entries;
+        String prefix = query.toLowerCase();
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Long id : current.tokens.subMap(prefix + '\0', prefix + '\u0001').values()) {
+            if (ids.size() >= limit) {
+                break;
+            }
+            ids.add(id);
+        }
+        for (Long id : current.tokens.subMap(prefix, prefix + Character.MAX_VALUE).values()) {
+            if (ids.size() >= limit) {
+                break;
+            }
+            ids.add(id);
+        }
+
+        List<StudentSuggestion> results = new ArrayList<>(Math.min(limit, ids.size()));
+        for (Long id : ids) {
+            StudentSuggestion suggestion = current.students.get(id);
+            if (suggestion != null && results.size() < limit) {
+                results.add(suggestion);
+            }
+        }
+        return results;
+    }
+
+    private static final class Entries {
+
+        //Keys are token + '\0' + id, so one sorted map holds every (token, student) pair and a prefix is a range scan
+        private final NavigableMap<String, Long> tokens = new ConcurrentSkipListMap<>();
+        private final Map<Long, StudentSuggestion> students = new ConcurrentHashMap<>();
+
+        private void apply(StudentChangedEvent event) {
+            if (event.type() == StudentChangedEvent.Type.DELETED) {
+                remove(event.id());
+            } else {
+                upsert(event.student());
+            }
+        }
+
+        private void upsert(StudentResponse student) {
+            remove(student.id());
+            StudentSuggestion suggestion = new StudentSuggestion(
+                student.id(),
+                student.studentId(),
+                student.firstName(),
+                student.lastName(),
+                student.email()
+            );
+            students.put(student.id(), suggestion);
+            keys(suggestion).forEach(key -> tokens.put(key, suggestion.id()));
+        }
+
+        private void remove(long id) {
+            StudentSuggestion previous = students.remove(id);
+            if (previous != null) {
+                keys(previous).forEach(tokens::remove);
+            }
+        }
+    }
+
+    private static Set<String> keys(StudentSuggestion suggestion) {
+        Set<String> keys = new LinkedHashSet<>();
+        String suffix = "\0" + suggestion.id();
+        keys.add(suggestion.studentId().toLowerCase() + suffix);
+        keys.add(suggestion.email().toLowerCase() + suffix);
+        for (String name : (suggestion.firstName() + " " + suggestion.lastName()).toLowerCase().split("\\s+")) {
+            if (!name.isEmpty()) {
+                keys.add(name + suffix);
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,25 @@
+package com.hyrup.studentmanagement;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import com.hyrup.studentmanagement.StudentController.StudentFilter;
+import com.hyrup.studentmanagement.StudentController.StudentResponse;
+
+//Read paths that select straight into responses, so no managed entities or dirty-checking snapshots are created
+public interface StudentProjectionRepository {
+
+    Optional<StudentResponse> findResponseById(Long id);
+
+    //Keyset page: rows strictly after the cursor id, so deep pages cost the same as the first one
+    List<StudentResponse> findResponsePageAfter(long afterId, StudentFilter filter, int limit);
+
+    //Sparse fieldset: only the named attributes are selected, keyed by name in the given order
+    List<Map<String, Object>> findFieldsPageAfter(long afterId, StudentFilter filter, int limit, Collection<String> fields);
+
+    //Forward-only cursor for exports; callers must consume it inside a transaction and close it
+    Stream<StudentResponse> streamResponses();
+}
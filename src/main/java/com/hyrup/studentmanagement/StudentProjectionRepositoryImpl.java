@@ -0,0 +1,104 @@
+package com.hyrup.studentmanagement;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.hyrup.studentmanagement.StudentController.StudentFilter;
+import com.hyrup.studentmanagement.StudentController.StudentResponse;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+//Criteria implementations of StudentProjectionRepository; response fields map one-to-one onto Student attributes
+@Transactional(readOnly = true)
+class StudentProjectionRepositoryImpl implements StudentProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    StudentProjectionRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<StudentResponse> findResponseById(Long id) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<StudentResponse> query = cb.createQuery(StudentResponse.class);
+        Root<Student> root = query.from(Student.class);
+        query.select(construct(cb, root)).where(cb.equal(root.get("id"), id));
+        return entityManager.createQuery(query).getResultStream().findFirst();
+    }
+
+    @Override
+    public List<StudentResponse> findResponsePageAfter(long afterId, StudentFilter filter, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<StudentResponse> query = cb.createQuery(StudentResponse.class);
+        Root<Student> root = query.from(Student.class);
+        query.select(construct(cb, root))
+            .where(cb.and(
+                StudentRepository.matching(filter).toPredicate(root, query, cb),
+                cb.greaterThan(root.get("id"), afterId)
+            ))
+            .orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsPageAfter(
+        long afterId,
+        StudentFilter filter,
+        int limit,
+        Collection<String> fields
+    ) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Student> root = query.from(Student.class);
+        List<Selection<?>> selections = fields.stream()
+            .<Selection<?>>map(field -> root.get(field).alias(field))
+            .toList();
+        query.multiselect(selections)
+            .where(cb.and(
+                StudentRepository.matching(filter).toPredicate(root, query, cb),
+                cb.greaterThan(root.get("id"), afterId)
+            ))
+            .orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList().stream()
+            .map(tuple -> {
+                Map<String, Object> row = new LinkedHashMap<>();
+                for (String field : fields) {
+                    row.put(field, tuple.get(field));
+                }
+                return row;
+            })
+            .toList();
+    }
+
+    @Override
+    public Stream<StudentResponse> streamResponses() {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<StudentResponse> query = cb.createQuery(StudentResponse.class);
+        Root<Student> root = query.from(Student.class);
+        query.select(construct(cb, root)).orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, 1000)
+            .getResultStream();
+    }
+
+    private static Selection<StudentResponse> construct(CriteriaBuilder cb, Root<Student> root) {
+        return cb.construct(
+            StudentResponse.class,
+            StudentController.RESPONSE_FIELDS.stream().map(root::get).toArray(Selection[]::new)
+        );
+    }
+}
@@ -1,14 +1,48 @@
 package com.hyrup.studentmanagement;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Set;
+
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.hyrup.studentmanagement.StudentController.StudentFilter;
 
-public interface StudentRepository extends JpaRepository<Student, Long> {
+import jakarta.persistence.criteria.Predicate;
 
-    boolean existsByStudentId(String studentId);
+public interface StudentRepository
+    extends JpaRepository<Student, Long>, JpaSpecificationExecutor<Student>, StudentProjectionRepository {
 
-    boolean existsByEmail(String email);
+    @Query("select s.studentId from Student s where s.studentId in :studentIds")
+    Set<String> findExistingStudentIds(@Param("studentIds") Collection<String> studentIds);
 
-    boolean existsByStudentIdAndIdNot(String studentId, Long id);
+    @Query("select s.email from Student s where s.email in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
 
-    boolean existsByEmailAndIdNot(String email, Long id);
+    //Only supplied filters become predicates, keeping the SQL index-friendly
+    static Specification<Student> matching(StudentFilter filter) {
+        return (root, query, cb) -> {
+            var predicates = new ArrayList<Predicate>();
+            if (filter.course() != null) {
+                predicates.add(cb.equal(root.get("course"), filter.course()));
+            }
+            if (filter.status() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.status()));
+            }
+            if (filter.academicYear() != null) {
+                predicates.add(cb.equal(root.get("academicYear"), filter.academicYear()));
+            }
+            if (filter.enrolledFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("enrollmentDate"), filter.enrolledFrom()));
+            }
+            if (filter.enrolledTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("enrollmentDate"), filter.enrolledTo()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
 }
@@ -0,0 +1,104 @@
+package com.hyrup.studentmanagement;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.hyrup.studentmanagement.StudentController.StudentResponse;
+import com.hyrup.studentmanagement.StudentController.StudentSuggestion;
+
+//Name/email/studentId search over the pg_trgm indexes created by db/migration/V2__search_indexes.sql
+@Component
+public class StudentSearch {
+
+    //Prefix hits rank above fuzzy (trigram) name matches; every predicate is served by one of the GIN indexes
+    private static final String SEARCH_SQL = """
+        select id, student_id, first_name, last_name, email, course, academic_year, enrollment_date, gpa, phone,
+            address, emergency_contact_name, emergency_contact_phone, status, version
+        from students
+        where lower(student_id) like :prefix or lower(email) like :prefix
+            or lower(first_name) like :prefix or lower(last_name) like :prefix
+            or lower(first_name) % :q or lower(last_name) % :q
+            or lower(first_name || ' ' || last_name) % :q
+        order by
+            (lower(student_id) like :prefix or lower(email) like :prefix
+                or lower(first_name) like :prefix or lower(last_name) like :prefix) desc,
+            greatest(
+                similarity(lower(first_name), :q),
+                similarity(lower(last_name), :q),
+                similarity(lower(first_name || ' ' || last_name), :q)
+            ) desc,
+            id
+        limit :limit offset :offset
+        """;
+
+    private static final String SUGGEST_SQL = """
+        select id, student_id, first_name, last_name, email
+        from students
+        where lower(student_id) like :prefix or lower(email) like :prefix
+            or lower(first_name) like :prefix or lower(last_name) like :prefix
+        order by
+            (lower(student_id) = :q or lower(email) = :q or lower(first_name) = :q or lower(last_name) = :q) desc,
+            id
+        limit :limit
+        """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public StudentSearch(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<StudentResponse> search(String query, long offset, int limit) {
+        String q = query.toLowerCase();
+        return jdbcTemplate.query(
+            SEARCH_SQL,
+            Map.of("q", q, "prefix", likePrefix(q), "limit", limit, "offset", offset),
+            (rs, rowNum) -> toResponse(rs)
+        );
+    }
+
+    public List<StudentSuggestion> suggest(String query, int limit) {
+        String q = query.toLowerCase();
+        return jdbcTemplate.query(
+            SUGGEST_SQL,
+            Map.of("q", q, "prefix", likePrefix(q), "limit", limit),
+            (rs, rowNum) -> new StudentSuggestion(
+                rs.getLong("id"),
+                rs.getString("student_id"),
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                rs.getString("email")
+            )
+        );
+    }
+
+    private static String likePrefix(String q) {
+        return q.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    //Maps a full students row; shared with StudentBulkOperations, whose RETURNING clauses select the same columns
+    static StudentResponse toResponse(ResultSet rs) throws SQLException {
+        return new StudentResponse(
+            rs.getLong("id"),
+            rs.getString("student_id"),
+            rs.getString("first_name"),
+            rs.getString("last_name"),
+            rs.getString("email"),
+            rs.getString("course"),
+            rs.getInt("academic_year"),
+            rs.getDate("enrollment_date").toLocalDate(),
+            rs.getBigDecimal("gpa"),
+            rs.getString("phone"),
+            rs.getString("address"),
+            rs.getString("emergency_contact_name"),
+            rs.getString("emergency_contact_phone"),
+            rs.getString("status"),
+            rs.getLong("version")
+        );
+    }
+}
@@ -0,0 +1,303 @@
+package com.hyrup.studentmanagement;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.hyrup.studentmanagement.StudentController.StudentResponse;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+//Aggregate student statistics kept current from StudentChangedEvent deltas and periodically reconciled against SQL
+@Component
+public class StudentStats {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentStats.class);
+
+    //GPA is 0.0-4.0 in half-point buckets; 4.0 itself falls into the last one
+    private static final int GPA_BUCKETS = 8;
+
+    //One scan answers every breakdown; grouping_id tells which grouping set a row belongs to
+    private static final String RECONCILE_SQL = """
+        select course, status, academic_year, least(floor(gpa * 2), 7)::int as gpa_bucket,
+            grouping(course, status, academic_year, least(floor(gpa * 2), 7)::int) as grouping_id,
+            count(*) as students, coalesce(sum(gpa), 0) as gpa_sum
+        from students
+        group by grouping sets ((), (course), (status), (academic_year), (least(floor(gpa * 2), 7)::int))
+        """;
+
+    //Read in the same snapshot as RECONCILE_SQL, so it shows which version of each student the counts include
+    private static final String VERSIONS_SQL = "select id, version from students where id = any(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    private final MeterRegistry meterRegistry;
+
+    //Guarded by this; sums are kept in hundredths of a grade point so deltas never accumulate rounding error
+    private Aggregates aggregates;
+    private Instant reconciledAt;
+    //Events seen while a reconcile runs, in arrival order. Its query may or may not have counted each of them.
+    private List<StudentChangedEvent> racing;
+
+    public StudentStats(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener
+    public synchronized void onStudentChanged(StudentChangedEvent event) {
+        if (racing != null) {
+            racing.add(event);
+        }
+        if (aggregates == null) {
+            return;
+        }
+        apply(aggregates, event);
+    }
+
+    @EventListener
+    public synchronized void onStudentsChanged(StudentChangedEvent.Batch batch) {
+        batch.changes().forEach(this::onStudentChanged);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reconcile();
+    }
+
+    //Picks up writes the events cannot see: other instances, bulk SQL, or anything changed outside the API
+    @Scheduled(
+        initialDelayString = "${app.students.stats.reconcile-interval:PT10M}",
+        fixedDelayString = "${app.students.stats.reconcile-interval:PT10M}"
+    )
+    public void reconcile() {
+        synchronized (this) {
+            racing = new ArrayList<>();
+        }
+        String result;
+        try {
+            result = snapshotTransaction.execute(status -> {
+                Aggregates fresh = query();
+                Map<Long, Long> versions = new HashMap<>();
+                Set<Long> looked = new HashSet<>();
+                //Events keep arriving while versions are read, so the swap only happens once every racing student
+                //has been looked up; the database is never queried while holding the lock
+                while (true) {
+                    List<Long> unseen;
+                    synchronized (this) {
+                        unseen = racing.stream().map(StudentChangedEvent::id).filter(looked::add).toList();
+                        if (unseen.isEmpty()) {
+                            return replace(fresh, versions);
+                        }
+                    }
+                    readVersions(unseen, versions);
+                }
+            });
+        } finally {
+            synchronized (this) {
+                racing = null;
+            }
+        }
+        meterRegistry.counter("students.stats.reconciliations", "result", result).increment();
+    }
+
+    //Called holding the lock: adds the racing events the query did not count to its result, then swaps it in
+    private String replace(Aggregates fresh, Map<Long, Long> versions) {
+        Map<Long, List<StudentChangedEvent>> byStudent = new LinkedHashMap<>();
+        for (StudentChangedEvent event : racing) {
+            byStudent.computeIfAbsent(event.id(), id -> new ArrayList<>()).add(event);
+        }
+        byStudent.forEach((id, events) -> {
+            Long version = versions.get(id);
+            //No row in the snapshot, and the last event deleted it: the delete, and so everything before it, is counted
+            boolean goneInSnapshot = version == null && events.get(events.size() - 1).student() == null;
+            for (StudentChangedEvent event : events) {
+                if (!goneInSnapshot && !counted(event, version)) {
+                    apply(fresh, event);
+                }
+            }
+        });
+
+        String result = aggregates == null || aggregates.equals(fresh) ? "consistent" : "corrected";
+        if (result.equals("corrected")) {
+            log.info("Student statistics drifted from the database ({} students counted, {} found); replaced",
+                aggregates.total, fresh.total);
+        }
+        aggregates = fresh;
+        reconciledAt = Instant.now();
+        return result;
+    }
+
+    //The snapshot already reflects an event when it holds the student at the event's version or a later one
+    private static boolean counted(StudentChangedEvent event, Long snapshotVersion) {
+        return snapshotVersion != null && event.student() != null && event.student().version() <= snapshotVersion;
+    }
+
+    private static void apply(Aggregates target, StudentChangedEvent event) {
+        if (event.previous() != null) {
+            target.add(event.previous(), -1);
+        }
+        if (event.student() != null) {
+            target.add(event.student(), 1);
+        }
+    }
+
+    public synchronized StatsSnapshot snapshot() {
+        Aggregates current = aggregates != null ? aggregates : new Aggregates();
+
+        Map<String, CourseStats> byCourse = new TreeMap<>();
+        current.courses.forEach((course, totals) ->
+            byCourse.put(course, new CourseStats(totals[0], average(totals[1], totals[0]))));
+
+        List<GpaBucket> distribution = new ArrayList<>(GPA_BUCKETS);
+        for (int i = 0; i < GPA_BUCKETS; i++) {
+            BigDecimal from = BigDecimal.valueOf(i * 5L, 1);
+            BigDecimal to = BigDecimal.valueOf((i + 1) * 5L, 1);
+            distribution.add(new GpaBucket(from, to, current.gpaBuckets[i]));
+        }
+
+        return new StatsSnapshot(
+            current.total,
+            average(current.gpaSum, current.total),
+            byCourse,
+            new TreeMap<>(current.statuses),
+            new TreeMap<>(current.academicYears),
+            distribution,
+            reconciledAt
+        );
+    }
+
+    private Aggregates query() {
+        Aggregates fresh = new Aggregates();
+        jdbcTemplate.query(RECONCILE_SQL, rs -> {
+            long students = rs.getLong("students");
+            long gpaSum = hundredths(rs.getBigDecimal("gpa_sum"));
+            //grouping() sets a bit for each column that is rolled up; 0b1111 is the grand total
+            switch (rs.getInt("grouping_id")) {
+                case 0b1111 -> {
+                    fresh.total = students;
+                    fresh.gpaSum = gpaSum;
+                }
+                case 0b0111 -> fresh.courses.put(rs.getString("course"), new long[] {students, gpaSum});
+                case 0b1011 -> fresh.statuses.put(rs.getString("status"), students);
+                case 0b1101 -> fresh.academicYears.put(rs.getInt("academic_year"), students);
+                case 0b1110 -> fresh.gpaBuckets[rs.getInt("gpa_bucket")] = students;
+                default -> throw new IllegalStateException("Unexpected grouping " + rs.getInt("grouping_id"));
+            }
+        });
+        return fresh;
+    }
+
+    private void readVersions(List<Long> ids, Map<Long, Long> versions) {
+        jdbcTemplate.query(
+            VERSIONS_SQL,
+            ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())),
+            (RowCallbackHandler) rs -> versions.put(rs.getLong("id"), rs.getLong("version"))
+        );
+    }
+
+    private static long hundredths(BigDecimal gpa) {
+        return gpa.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal average(long sumHundredths, long count) {
+        if (count == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(sumHundredths).divide(BigDecimal.valueOf(count * 100), 2, RoundingMode.HALF_UP);
+    }
+
+    private static int gpaBucket(BigDecimal gpa) {
+        return Math.min((int) (hundredths(gpa) / 50), GPA_BUCKETS - 1);
+    }
+
+    //Mutable running totals; sign is +1 to count a student state in and -1 to take it out
+    private static final class Aggregates {
+        private long total;
+        private long gpaSum;
+        private final Map<String, long[]> courses = new HashMap<>();
+        private final Map<String, Long> statuses = new HashMap<>();
+        private final Map<Integer, Long> academicYears = new HashMap<>();
+        private final long[] gpaBuckets = new long[GPA_BUCKETS];
+
+        private void add(StudentResponse student, int sign) {
+            long gpa = hundredths(student.gpa());
+            total += sign;
+            gpaSum += sign * gpa;
+
+            long[] course = courses.computeIfAbsent(student.course(), key -> new long[2]);
+            course[0] += sign;
+            course[1] += sign * gpa;
+            if (course[0] == 0) {
+                courses.remove(student.course());
+            }
+            statuses.merge(student.status(), (long) sign, (a, b) -> a + b == 0 ? null : a + b);
+            academicYears.merge(student.academicYear(), (long) sign, (a, b) -> a + b == 0 ? null : a + b);
+            gpaBuckets[gpaBucket(student.gpa())] += sign;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Aggregates that)) {
+                return false;
+            }
+            if (total != that.total || gpaSum != that.gpaSum || !statuses.equals(that.statuses)
+                || !academicYears.equals(that.academicYears) || !Arrays.equals(gpaBuckets, that.gpaBuckets)
+                || !courses.keySet().equals(that.courses.keySet())) {
+                return false;
+            }
+            return courses.entrySet().stream()
+                .allMatch(entry -> Arrays.equals(entry.getValue(), that.courses.get(entry.getKey())));
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(total);
+        }
+    }
+
+    public record StatsSnapshot(
+        long total,
+        BigDecimal averageGpa,
+        Map<String, CourseStats> byCourse,
+        Map<String, Long> byStatus,
+        Map<Integer, Long> byAcademicYear,
+        List<GpaBucket> gpaDistribution,
+        Instant reconciledAt
+    ) {
+    }
+
+    public record CourseStats(long count, BigDecimal averageGpa) {
+    }
+
+    public record GpaBucket(BigDecimal from, BigDecimal to, long count) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.hyrup.studentmanagement;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+//Per-user token epoch: tokens whose "ver" claim is below the stored value are revoked.
+//Values are cached briefly, so on other instances a revocation takes effect within the cache TTL.
+@Service
+public class TokenVersionService {
+
+    private static final int UNKNOWN_USER = Integer.MAX_VALUE;
+
+    private final AppUserRepository appUserRepository;
+    private final Cache<Long, Integer> versions;
+    private final AtomicLong revocations = new AtomicLong();
+
+    public TokenVersionService(
+        AppUserRepository appUserRepository,
+        @Value("${app.jwt.token-version-cache.max-size:100000}") long maxSize,
+        @Value("${app.jwt.token-version-cache.ttl:30s}") Duration ttl
+    ) {
+        this.appUserRepository = appUserRepository;
+        this.versions = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .build();
+    }
+
+    public boolean isCurrent(long userId, int tokenVersion) {
+        //Loaded outside the cache's compute: a DB call inside it would hold a monitor and pin virtual threads
+        Integer current = versions.getIfPresent(userId);
+        if (current == null) {
+            long generation = revocations.get();
+            //A deleted user maps to MAX_VALUE so none of their tokens pass
+            Integer loaded = appUserRepository.findTokenVersionById(userId).orElse(UNKNOWN_USER);
+            //A revocation since the load started may have committed after it read, so its value is not cached
+            versions.asMap().compute(userId, (id, cached) -> revocations.get() == generation ? loaded : cached);
+            current = loaded;
+        }
+        return tokenVersion >= current;
+    }
+
+    public void revokeAll(long userId) {
+        appUserRepository.incrementTokenVersion(userId);
+        //Counted under the same key lock as the put above, so a load that read the old version either stores it
+        //before this removes it or sees the count move and stores nothing
+        versions.asMap().compute(userId, (id, cached) -> {
+            revocations.incrementAndGet();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,82 @@
+package com.hyrup.studentmanagement;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+//Bounded cache of already verified bearer tokens, keyed by SHA-256 of the token and never outliving its exp claim
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<String, VerifiedToken> cache;
+    private final long ttlNanos;
+
+    public VerifiedTokenCache(
+        @Value("${app.jwt.cache.max-size:100000}") long maxSize,
+        @Value("${app.jwt.cache.ttl:5m}") Duration ttl
+    ) {
+        this.ttlNanos = ttl.toNanos();
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new Expiry<String, VerifiedToken>() {
+                @Override
+                public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                    long untilExp = Duration.between(Instant.now(), value.expiresAt()).toNanos();
+                    return Math.max(0, Math.min(ttlNanos, untilExp));
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                    return expireAfterCreate(key, value, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+    }
+
+    public VerifiedToken get(String token) {
+        VerifiedToken verified = cache.getIfPresent(hash(token));
+        //Expiry is swept lazily, so re-check exp on the hit path as well
+        return verified != null && verified.expiresAt().isAfter(Instant.now()) ? verified : null;
+    }
+
+    public void put(String token, VerifiedToken verified) {
+        cache.put(hash(token), verified);
+    }
+
+    public void invalidate(String token) {
+        cache.invalidate(hash(token));
+    }
+
+    private String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    public record VerifiedToken(
+        Long userId,
+        String email,
+        String role,
+        int tokenVersion,
+        Instant expiresAt
+    ) {
+    }
+}
@@ -0,0 +1,37 @@
+-- Schema as the Student and AppUser mappings define it. Written with IF NOT EXISTS so it also applies cleanly to a
+-- database that Hibernate's ddl-auto=update created before migrations existed (Flyway baselines those at version 0).
+CREATE TABLE IF NOT EXISTS students (
+    id BIGSERIAL PRIMARY KEY,
+    student_id VARCHAR(255) NOT NULL,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    course VARCHAR(255) NOT NULL,
+    academic_year INTEGER NOT NULL,
+    enrollment_date DATE NOT NULL,
+    gpa NUMERIC(3, 2) NOT NULL,
+    phone VARCHAR(255) NOT NULL,
+    address VARCHAR(255) NOT NULL,
+    emergency_contact_name VARCHAR(255) NOT NULL,
+    emergency_contact_phone VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_students_student_id UNIQUE (student_id),
+    CONSTRAINT uk_students_email UNIQUE (email)
+);
+
+-- Each filter index ends with id so keyset pages over a filter are index range scans
+CREATE INDEX IF NOT EXISTS idx_students_course_id ON students (course, id);
+CREATE INDEX IF NOT EXISTS idx_students_status_id ON students (status, id);
+CREATE INDEX IF NOT EXISTS idx_students_academic_year_id ON students (academic_year, id);
+CREATE INDEX IF NOT EXISTS idx_students_enrollment_date_id ON students (enrollment_date, id);
+
+CREATE TABLE IF NOT EXISTS app_users (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    role VARCHAR(255) NOT NULL,
+    token_version INTEGER NOT NULL DEFAULT 0,
+    CONSTRAINT uk_app_users_email UNIQUE (email)
+);
@@ -0,0 +1,11 @@
+-- Trigram indexes for GET /api/students/search and /suggest. IF NOT EXISTS keeps it a no-op on databases where the
+-- old startup script already created them.
+-- pg_trgm is a trusted extension, so the database owner can create it without superuser rights.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_students_student_id_trgm ON students USING gin (lower(student_id) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_students_email_trgm ON students USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_students_first_name_trgm ON students USING gin (lower(first_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_students_last_name_trgm ON students USING gin (lower(last_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_students_full_name_trgm
+    ON students USING gin (lower(first_name || ' ' || last_name) gin_trgm_ops);
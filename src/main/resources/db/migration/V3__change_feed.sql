@@ -0,0 +1,12 @@
+-- Durable log behind GET /api/students/changes: one row per committed student change, kept for
+-- app.students.feed.retention so consumers can resume from an older Last-Event-ID.
+CREATE TABLE IF NOT EXISTS student_changes (
+    id BIGSERIAL PRIMARY KEY,
+    type VARCHAR(16) NOT NULL,
+    student_id BIGINT NOT NULL,
+    -- StudentResponse JSON after the change; null for deletes
+    payload TEXT,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_student_changes_created_at ON student_changes (created_at);
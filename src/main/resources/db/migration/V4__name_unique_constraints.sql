@@ -0,0 +1,37 @@
+-- Databases created by ddl-auto before the unique constraints were named carry Hibernate's generated uk_<hash>
+-- names, and some carry both those and the named ones (a second index on the same column that every insert pays
+-- for). Keep exactly one constraint per column, under the name the application maps violations by.
+DO $$
+DECLARE
+    target RECORD;
+    legacy RECORD;
+BEGIN
+    FOR target IN
+        SELECT * FROM (VALUES
+            ('students', 'student_id', 'uk_students_student_id'),
+            ('students', 'email', 'uk_students_email'),
+            ('app_users', 'email', 'uk_app_users_email')
+        ) AS t (table_name, column_name, constraint_name)
+    LOOP
+        FOR legacy IN
+            SELECT c.conname
+            FROM pg_constraint c
+            JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = c.conkey[1]
+            WHERE c.conrelid = to_regclass(target.table_name)
+              AND c.contype = 'u'
+              AND array_length(c.conkey, 1) = 1
+              AND a.attname = target.column_name
+              AND c.conname <> target.constraint_name
+        LOOP
+            EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', target.table_name, legacy.conname);
+        END LOOP;
+
+        IF NOT EXISTS (
+            SELECT 1 FROM pg_constraint
+            WHERE conrelid = to_regclass(target.table_name) AND conname = target.constraint_name
+        ) THEN
+            EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I UNIQUE (%I)',
+                target.table_name, target.constraint_name, target.column_name);
+        END IF;
+    END LOOP;
+END $$;
@@ -0,0 +1,13 @@
+-- Student and AppUser ids move from per-row BIGSERIAL defaults to sequences that Hibernate reads in blocks with its
+-- pooled-lo optimizer: nextval returns the first of INCREMENT BY consecutive ids, all reserved for the caller.
+-- Existing ids are kept and each sequence starts past the highest one. The column defaults move to the new sequences,
+-- so a plain INSERT without an id still works; it just reserves a whole block for its one row.
+CREATE SEQUENCE students_seq INCREMENT BY ${idAllocationSize} OWNED BY students.id;
+SELECT setval('students_seq', (SELECT coalesce(max(id), 0) + 1 FROM students), false);
+ALTER TABLE students ALTER COLUMN id SET DEFAULT nextval('students_seq');
+DROP SEQUENCE IF EXISTS students_id_seq;
+
+CREATE SEQUENCE app_users_seq INCREMENT BY ${idAllocationSize} OWNED BY app_users.id;
+SELECT setval('app_users_seq', (SELECT coalesce(max(id), 0) + 1 FROM app_users), false);
+ALTER TABLE app_users ALTER COLUMN id SET DEFAULT nextval('app_users_seq');
+DROP SEQUENCE IF EXISTS app_users_id_seq;
@@ -0,0 +1,10 @@
+-- A database that ddl-auto=update created before migrations existed already has both tables, so V1's CREATE TABLE IF
+-- NOT EXISTS skipped them and left out the columns added since. Add those here, so such a database ends up with the
+-- same schema as a fresh one. This includes one where V1-V5 were recorded and ddl-auto=validate then refused to start.
+ALTER TABLE students ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE app_users ADD COLUMN IF NOT EXISTS token_version INTEGER NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_students_course_id ON students (course, id);
+CREATE INDEX IF NOT EXISTS idx_students_status_id ON students (status, id);
+CREATE INDEX IF NOT EXISTS idx_students_academic_year_id ON students (academic_year, id);
+CREATE INDEX IF NOT EXISTS idx_students_enrollment_date_id ON students (enrollment_date, id);
@@ -0,0 +1,15 @@
+-- Highest student_changes id the retention job has deleted, so a consumer resuming from an older Last-Event-ID is
+-- told to resync instead of silently skipping the pruned changes. Rows pruned before this migration are counted
+-- from the oldest row left, or from the sequence when none is.
+CREATE TABLE IF NOT EXISTS student_change_feed_state (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    pruned_through BIGINT NOT NULL
+);
+
+INSERT INTO student_change_feed_state (id, pruned_through)
+SELECT 1, coalesce(
+    (SELECT min(id) - 1 FROM student_changes),
+    (SELECT last_value FROM student_changes_id_seq WHERE is_called),
+    0
+)
+ON CONFLICT (id) DO NOTHING;
@@ -0,0 +1,14 @@
+-- Runs after every migrate and applies a raised JPA_ID_ALLOCATION_SIZE to the id sequences. Only increases are
+-- applied: an instance still using the old, smaller blocks stays inside the larger ones. Shrinking a block while any
+-- instance runs could hand out ids it still holds, so that is a manual ALTER SEQUENCE with every instance stopped.
+DO $$
+DECLARE
+    seq TEXT;
+BEGIN
+    FOREACH seq IN ARRAY ARRAY['students_seq', 'app_users_seq'] LOOP
+        IF (SELECT increment_by FROM pg_sequences
+            WHERE schemaname = current_schema() AND sequencename = seq) < ${idAllocationSize} THEN
+            EXECUTE format('ALTER SEQUENCE %I INCREMENT BY %s', seq, ${idAllocationSize});
+        END IF;
+    END LOOP;
+END $$;
@@ -0,0 +1,160 @@
+package com.hyrup.studentmanagement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.hyrup.studentmanagement.AuthController.LoginRequest;
+import com.hyrup.studentmanagement.AuthController.RegisterRequest;
+import com.hyrup.studentmanagement.AuthController.TokenResponse;
+import com.hyrup.studentmanagement.VerifiedTokenCache.VerifiedToken;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AuthControllerTest extends IntegrationTest {
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
+    @Test
+    void aVerifiedTokenIsCachedAndKeepsWorking() {
+        String email = newEmail();
+        String token = register(email);
+
+        assertThat(statusWith(token)).isEqualTo(200);
+        VerifiedToken cached = verifiedTokenCache.get(token);
+        assertThat(cached).isNotNull();
+        assertThat(cached.email()).isEqualTo(email);
+        assertThat(cached.userId()).isEqualTo(userId(email));
+        assertThat(statusWith(token)).isEqualTo(200);
+    }
+
+    @Test
+    void aCachedTokenIsTrustedWithoutReverifyingButNotPastItsExpiry() {
+        String email = newEmail();
+        register(email);
+        VerifiedToken verified = new VerifiedToken(userId(email), email, "USER", 0, Instant.now().plusSeconds(60));
+
+        //Not a JWT at all, so only the cache can authorize it
+        String cachedOnly = unique("cached");
+        verifiedTokenCache.put(cachedOnly, verified);
+        assertThat(statusWith(cachedOnly)).isEqualTo(200);
+
+        String expired = unique("expired");
+        verifiedTokenCache.put(expired, new VerifiedToken(
+            verified.userId(), email, "USER", 0, Instant.now().minusSeconds(1)));
+        assertThat(statusWith(expired)).isEqualTo(401);
+    }
+
+    @Test
+    void aTamperedTokenIsRefusedAndNeverCached() {
+        String token = register(newEmail());
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThat(statusWith(tampered)).isEqualTo(401);
+        assertThat(verifiedTokenCache.get(tampered)).isNull();
+    }
+
+    @Test
+    void logoutRevokesEveryTokenIssuedSoFarEvenOnceCached() {
+        String email = newEmail();
+        String first = register(email);
+        String second = login(email);
+        assertThat(statusWith(first)).isEqualTo(200);
+        assertThat(statusWith(second)).isEqualTo(200);
+
+        assertThat(sendAnonymous("POST", "/api/auth/logout", null, "Authorization", "Bearer " + first).statusCode())
+            .isEqualTo(204);
+
+        assertThat(statusWith(first)).isEqualTo(401);
+        assertThat(statusWith(second)).isEqualTo(401);
+        assertThat(statusWith(login(email))).isEqualTo(200);
+    }
+
+    @Test
+    void logoutWithoutATokenIsUnauthorized() {
+        assertThat(sendAnonymous("POST", "/api/auth/logout", null).statusCode()).isEqualTo(401);
+    }
+
+    @Test
+    void statelessModeAuthenticatesFromTheClaimsWithoutLoadingTheUser() throws Exception {
+        String email = newEmail();
+        String token = register(email);
+        AppUserRepository users = mock(AppUserRepository.class);
+        JwtAuthFilter filter = new JwtAuthFilter(jwtService, users,
+            new VerifiedTokenCache(100, Duration.ofMinutes(5)), tokenVersionService, new SimpleMeterRegistry(), true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/students");
+        request.addHeader("Authorization", "Bearer " + token);
+
+        AtomicReference<Authentication> authenticated = new AtomicReference<>();
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> authenticated.set(SecurityContextHolder.getContext().getAuthentication()));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        assertThat(authenticated.get().getName()).isEqualTo(email);
+        assertThat(authenticated.get().getAuthorities()).extracting(GrantedAuthority::getAuthority)
+            .containsExactly("ROLE_USER");
+        verifyNoInteractions(users);
+    }
+
+    @Test
+    void loginIsThrottledOnceAnAccountHasTooManyFailures() {
+        String email = newEmail();
+        register(email);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(sendAnonymous("POST", "/api/auth/login", new LoginRequest(email, "wrong-password")).statusCode())
+                .isEqualTo(401);
+        }
+
+        //Even the right password is refused until the window passes, while other accounts are unaffected
+        assertThat(sendAnonymous("POST", "/api/auth/login", new LoginRequest(email, "password123")).statusCode())
+            .isEqualTo(429);
+        String other = newEmail();
+        register(other);
+        assertThat(statusWith(login(other))).isEqualTo(200);
+    }
+
+    private static String newEmail() {
+        return unique("auth").toLowerCase() + "@test.edu";
+    }
+
+    private String register(String email) {
+        return read(sendAnonymous("POST", "/api/auth/register", new RegisterRequest("Auth User", email, "password123")),
+            TokenResponse.class).token();
+    }
+
+    private String login(String email) {
+        return read(sendAnonymous("POST", "/api/auth/login", new LoginRequest(email, "password123")),
+            TokenResponse.class).token();
+    }
+
+    private int statusWith(String token) {
+        return sendAnonymous("GET", "/api/students?limit=1", null, "Authorization", "Bearer " + token).statusCode();
+    }
+
+    private long userId(String email) {
+        return jdbcTemplate.queryForObject("select id from app_users where email = ?", Long.class, email);
+    }
+}
@@ -0,0 +1,86 @@
+package com.hyrup.studentmanagement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.hyrup.studentmanagement.StudentController.StudentPage;
+import com.hyrup.studentmanagement.StudentController.StudentResponse;
+
+class HttpFormatConfigTest extends IntegrationTest {
+
+    private static final TypeReference<StudentPage<StudentResponse>> PAGE = new TypeReference<>() {
+    };
+
+    @Test
+    void binaryFormatsCarryTheSameStudentsAsJsonInFewerBytes() throws Exception {
+        String path = courseWithStudents(3);
+        HttpResponse<byte[]> json = get(path, "application/json");
+        List<StudentResponse> expected = objectMapper.readValue(json.body(), PAGE).items();
+        assertThat(expected).hasSize(3);
+
+        HttpResponse<byte[]> cbor = get(path, "application/cbor");
+        assertThat(cbor.headers().firstValue("Content-Type")).hasValue("application/cbor");
+        assertThat(decode(cbor, new CBORFactory())).isEqualTo(expected);
+        assertThat(cbor.body().length).isLessThan(json.body().length);
+
+        HttpResponse<byte[]> smile = get(path, "application/x-jackson-smile");
+        assertThat(smile.headers().firstValue("Content-Type")).hasValue("application/x-jackson-smile");
+        assertThat(decode(smile, new SmileFactory())).isEqualTo(expected);
+        assertThat(smile.body().length).isLessThan(json.body().length);
+    }
+
+    @Test
+    void anyFormatAnswersJsonAndAnUnknownOneIsNotAcceptable() throws Exception {
+        String path = courseWithStudents(1);
+
+        assertThat(get(path, "*/*").headers().firstValue("Content-Type")).hasValue("application/json");
+        assertThat(get(path, "application/cbor;q=0.5, application/json").headers().firstValue("Content-Type"))
+            .hasValue("application/json");
+        assertThat(get(path, "application/xml").statusCode()).isEqualTo(406);
+    }
+
+    @Test
+    void listsAreGzippedForClientsThatAskButAStronglyTaggedStudentIsNot() throws Exception {
+        String path = courseWithStudents(10);
+
+        assertThat(get(path, "application/json", "Accept-Encoding", "gzip").headers().firstValue("Content-Encoding"))
+            .hasValue("gzip");
+        assertThat(get(path, "application/cbor", "Accept-Encoding", "gzip").headers().firstValue("Content-Encoding"))
+            .hasValue("gzip");
+        assertThat(get(path, "application/json").headers().firstValue("Content-Encoding")).isEmpty();
+
+        long id = objectMapper.readValue(get(path, "application/json").body(), PAGE).items().get(0).id();
+        HttpResponse<byte[]> student = get("/api/students/" + id, "application/json", "Accept-Encoding", "gzip");
+        assertThat(student.headers().firstValue("ETag")).isPresent();
+        assertThat(student.headers().firstValue("Content-Encoding")).isEmpty();
+    }
+
+    private String courseWithStudents(int count) {
+        String course = unique("FORMAT");
+        IntStream.range(0, count).forEach(i -> create(newStudent(course, 1)));
+        return "/api/students?course=" + course;
+    }
+
+    private List<StudentResponse> decode(HttpResponse<byte[]> response, JsonFactory format) throws IOException {
+        return objectMapper.copyWith(format).readValue(response.body(), PAGE).items();
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept, String... headers)
+        throws IOException, InterruptedException {
+        var request = request(path, true).header("Accept", accept);
+        if (headers.length > 0) {
+            request.headers(headers);
+        }
+        return http.send(request.GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -0,0 +1,147 @@
+package com.hyrup.studentmanagement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.hyrup.studentmanagement.AuthController.RegisterRequest;
+import com.hyrup.studentmanagement.StudentController.StudentRequest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+
+class IdempotencyFilterTest extends IntegrationTest {
+
+    private static final String BODY = "{\"studentId\":\"S-1\"}";
+
+    @Test
+    void retriedCreateIsReplayedWithoutASecondInsert() {
+        StudentRequest request = newStudent("IDEMPOTENT", 1);
+        String key = unique("key");
+
+        HttpResponse<String> first = send("POST", "/api/students", request, "Idempotency-Key", key);
+        HttpResponse<String> retried = send("POST", "/api/students", request, "Idempotency-Key", key);
+
+        assertThat(first.statusCode()).isEqualTo(201);
+        assertThat(first.headers().firstValue("Idempotent-Replayed")).isEmpty();
+        assertThat(retried.statusCode()).isEqualTo(201);
+        assertThat(retried.headers().firstValue("Idempotent-Replayed")).hasValue("true");
+        assertThat(retried.body()).isEqualTo(first.body());
+        assertThat(jdbcTemplate.queryForObject(
+            "select count(*) from students where student_id = ?", Integer.class, request.studentId())).isEqualTo(1);
+    }
+
+    @Test
+    void reusingAKeyWithADifferentBodyIsRefused() {
+        String key = unique("key");
+        send("POST", "/api/students", newStudent("IDEMPOTENT", 1), "Idempotency-Key", key);
+
+        HttpResponse<String> reused = send("POST", "/api/students", newStudent("IDEMPOTENT", 1), "Idempotency-Key", key);
+
+        assertThat(reused.statusCode()).isEqualTo(422);
+    }
+
+    @Test
+    void retriedRegistrationIsReplayedOnceTheAsyncDispatchHasCompleted() {
+        String email = unique("register").toLowerCase() + "@test.edu";
+        RegisterRequest request = new RegisterRequest("Retried User", email, "password123");
+        String key = unique("key");
+
+        HttpResponse<String> first = sendAnonymous("POST", "/api/auth/register", request, "Idempotency-Key", key);
+        HttpResponse<String> retried = sendAnonymous("POST", "/api/auth/register", request, "Idempotency-Key", key);
+        HttpResponse<String> unkeyed = sendAnonymous("POST", "/api/auth/register", request);
+
+        assertThat(first.statusCode()).isEqualTo(201);
+        assertThat(retried.statusCode()).isEqualTo(201);
+        assertThat(retried.headers().firstValue("Idempotent-Replayed")).hasValue("true");
+        assertThat(retried.body()).isEqualTo(first.body());
+        assertThat(unkeyed.statusCode()).isEqualTo(409);
+    }
+
+    @Test
+    void matchesPathsBehindAContextPathAndWithATrailingSlash() throws Exception {
+        IdempotencyFilter filter = newFilter();
+        AtomicInteger handled = new AtomicInteger();
+        FilterChain chain = (request, response) -> {
+            handled.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(201);
+            response.getWriter().write("{\"id\":" + handled.get() + "}");
+        };
+
+        MockHttpServletResponse first = post(filter, chain, "/app", "/api/students");
+        MockHttpServletResponse retried = post(filter, chain, "/app", "/api/students/");
+
+        assertThat(handled).hasValue(1);
+        assertThat(retried.getStatus()).isEqualTo(201);
+        assertThat(retried.getHeader("Idempotent-Replayed")).isEqualTo("true");
+        assertThat(retried.getContentAsString()).isEqualTo(first.getContentAsString());
+    }
+
+    @Test
+    void cachedBodyNotifiesAReadListenerStraightAway() throws Exception {
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicBoolean allRead = new AtomicBoolean();
+        FilterChain chain = (request, response) -> {
+            ServletInputStream in = request.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    byte[] buffer = new byte[4];
+                    while (in.isReady() && !in.isFinished()) {
+                        int n = in.read(buffer);
+                        if (n > 0) {
+                            read.write(buffer, 0, n);
+                        }
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allRead.set(true);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    throw new AssertionError(t);
+                }
+            });
+            ((HttpServletResponse) response).setStatus(201);
+        };
+
+        post(newFilter(), chain, "", "/api/students");
+
+        assertThat(read.toString(StandardCharsets.UTF_8)).isEqualTo(BODY);
+        assertThat(allRead).isTrue();
+    }
+
+    private static IdempotencyFilter newFilter() {
+        return new IdempotencyFilter(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+    }
+
+    private static MockHttpServletResponse post(IdempotencyFilter filter, FilterChain chain, String contextPath,
+        String servletPath) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", contextPath + servletPath);
+        request.setContextPath(contextPath);
+        request.setServletPath(servletPath);
+        request.addHeader("Idempotency-Key", "filter-key");
+        request.setContentType("application/json");
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
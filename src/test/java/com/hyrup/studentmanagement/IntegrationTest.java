@@ -0,0 +1,190 @@
+package com.hyrup.studentmanagement;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hyrup.studentmanagement.AuthController.TokenResponse;
+import com.hyrup.studentmanagement.StudentController.StudentRequest;
+import com.hyrup.studentmanagement.StudentController.StudentResponse;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+//Boots the whole application on a random port against a throwaway embedded PostgreSQL. TEST_DB_URL (with
+//TEST_DB_USERNAME and TEST_DB_PASSWORD) points the tests at an existing database instead, e.g. where PostgreSQL
+//refuses to run as the current user. Every subclass shares the one context and database, so tests only look at rows
+//they created themselves.
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "app.security.bcrypt-strength=4",
+        "app.students.bulk.max-rows=5",
+        "app.students.feed.buffer-size=4",
+        "app.students.feed.poll-interval=100ms"
+    }
+)
+abstract class IntegrationTest {
+
+    //Keeps keys unique across runs against a database that outlives them
+    private static final String RUN = Long.toString(System.currentTimeMillis(), 36);
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    private static EmbeddedPostgres postgres;
+    private static String token;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    protected final HttpClient http = HttpClient.newHttpClient();
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        String configured = System.getenv("TEST_DB_URL");
+        String url = configured != null ? configured : embeddedPostgres().getJdbcUrl("postgres", "postgres");
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("spring.datasource.username", () -> System.getenv().getOrDefault("TEST_DB_USERNAME", "postgres"));
+        registry.add("spring.datasource.password", () -> System.getenv().getOrDefault("TEST_DB_PASSWORD", ""));
+    }
+
+    private static synchronized EmbeddedPostgres embeddedPostgres() throws IOException {
+        if (postgres == null) {
+            postgres = EmbeddedPostgres.builder().start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException ex) {
+                    //Nothing left to clean up after
+                }
+            }));
+        }
+        return postgres;
+    }
+
+    protected static String unique(String prefix) {
+        return prefix + "-" + RUN + "-" + sequence.incrementAndGet();
+    }
+
+    protected static StudentRequest newStudent(String course, int academicYear) {
+        String studentId = unique("T");
+        return new StudentRequest(
+            studentId,
+            "Test",
+            "Student",
+            studentId.toLowerCase() + "@test.edu",
+            course,
+            academicYear,
+            LocalDate.of(2024, 9, 1),
+            new BigDecimal("3.25"),
+            "555-0100",
+            "1 Test Street",
+            "Guardian",
+            "555-0101",
+            "ACTIVE"
+        );
+    }
+
+    protected StudentResponse create(StudentRequest request) {
+        HttpResponse<String> response = send("POST", "/api/students", request);
+        if (response.statusCode() != 201) {
+            throw new IllegalStateException("Create failed with " + response.statusCode() + ": " + response.body());
+        }
+        return read(response, StudentResponse.class);
+    }
+
+    //headers are name/value pairs; the body goes out as JSON unless it is already a String
+    protected HttpResponse<String> send(String method, String path, Object body, String... headers) {
+        return send(method, path, body, true, headers);
+    }
+
+    protected HttpResponse<String> sendAnonymous(String method, String path, Object body, String... headers) {
+        return send(method, path, body, false, headers);
+    }
+
+    private HttpResponse<String> send(String method, String path, Object body, boolean authenticated,
+        String... headers) {
+        HttpRequest.Builder request = request(path, authenticated)
+            .method(method, body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(body instanceof String text ? text : json(body)));
+        if (body != null && !hasHeader(headers, "Content-Type")) {
+            request.header("Content-Type", "application/json");
+        }
+        if (headers.length > 0) {
+            request.headers(headers);
+        }
+        try {
+            return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    protected HttpRequest.Builder request(String path, boolean authenticated) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (authenticated) {
+            request.header("Authorization", "Bearer " + token());
+        }
+        return request;
+    }
+
+    protected <T> T read(HttpResponse<String> response, Class<T> type) {
+        try {
+            return objectMapper.readValue(response.body(), type);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unexpected response body: " + response.body(), ex);
+        }
+    }
+
+    private String token() {
+        synchronized (IntegrationTest.class) {
+            if (token == null) {
+                String email = unique("user").toLowerCase() + "@test.edu";
+                HttpResponse<String> response = sendAnonymous("POST", "/api/auth/register",
+                    new AuthController.RegisterRequest("Test User", email, "password123"));
+                token = read(response, TokenResponse.class).token();
+            }
+            return token;
+        }
+    }
+
+    private String json(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static boolean hasHeader(String[] headers, String name) {
+        for (int i = 0; i < headers.length; i += 2) {
+            if (headers[i].equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,62 @@
+package com.hyrup.studentmanagement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordHashingServiceTest {
+
+    @Test
+    void aFullQueueFailsFastWithServiceUnavailable() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordHashingService service = new PasswordHashingService(
+            new BlockingEncoder(started, release), new SimpleMeterRegistry(), 1, 1);
+        try {
+            //One hash runs on the only worker and one waits in the queue, so a third has nowhere to go
+            CompletableFuture<Boolean> running = service.matches("password", "hash");
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<Boolean> queued = service.matches("password", "hash");
+
+            assertThatThrownBy(() -> service.matches("password", "hash"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                    ex -> assertThat(ex.getStatusCode().value()).isEqualTo(503));
+
+            release.countDown();
+            assertThat(running.get(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(queued.get(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(service.matches("password", "hash").get(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            release.countDown();
+            service.shutdown();
+        }
+    }
+
+    private record BlockingEncoder(CountDownLatch started, CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            started.countDown();
+            try {
+                return release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.hyrup.studentmanagement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.hyrup.studentmanagement.StudentController.BulkResult;
+import com.hyrup.studentmanagement.StudentController.StudentResponse;
+
+//The test context caps bulk statements at 5 students
+class StudentBulkOperationsTest extends IntegrationTest {
+
+    @Test
+    void updateByFilterChangesEveryMatchAndBumpsTheirVersions() {
+        String course = unique("BULK");
+        List<StudentResponse> students = createInCourse(course, 3);
+
+        HttpResponse<String> response = send("POST", "/api/students/bulk-update", Map.of(
+            "filter", Map.of("course", course),
+            "set", Map.of("status", "GRADUATED", "academicYearIncrement", 1)
+        ));
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(read(response, BulkResult.class).affected()).isEqualTo(3);
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+            "select status, academic_year, version from students where course = ? order by id", course);
+        for (int i = 0; i < rows.size(); i++) {
+            assertThat(rows.get(i).get("status")).isEqualTo("GRADUATED");
+            assertThat(rows.get(i).get("academic_year")).isEqualTo(students.get(i).academicYear() + 1);
+            assertThat(rows.get(i).get("version")).isEqualTo(students.get(i).version() + 1);
+        }
+    }
+
+    @Test
+    void updateIntersectsIdsWithTheFilter() {
+        String course = unique("BULK");
+        List<StudentResponse> students = createInCourse(course, 2);
+        StudentResponse elsewhere = create(newStudent(unique("BULK"), 1));
+
+        HttpResponse<String> response = send("POST", "/api/students/bulk-update", Map.of(
+            "ids", List.of(students.get(0).id(), elsewhere.id()),
+            "filter", Map.of("course", course),
+            "set", Map.of("status", "SUSPENDED")
+        ));
+
+        assertThat(read(response, BulkResult.class).affected()).isEqualTo(1);
+        assertThat(statusOf(students.get(0).id())).isEqualTo("SUSPENDED");
+        assertThat(statusOf(students.get(1).id())).isEqualTo("ACTIVE");
+        assertThat(statusOf(elsewhere.id())).isEqualTo("ACTIVE");
+    }
+
+    @Test
+    void updateMatchingMoreThanTheLimitIsRolledBack() {
+        String course = unique("BULK");
+        createInCourse(course, 6);
+
+        HttpResponse<String> response = send("POST", "/api/students/bulk-update", Map.of(
+            "filter", Map.of("course", course),
+            "set", Map.of("status", "GRADUATED")
+        ));
+
+        assertThat(response.statusCode()).isEqualTo(400);
+        assertThat(jdbcTemplate.queryForObject(
+            "select count(*) from students where course = ? and status = 'ACTIVE'", Integer.class, course))
+            .isEqualTo(6);
+    }
+
+    @Test
+    void updateMovingAnyStudentOutOfRangeIsRolledBack() {
+        String course = unique("BULK");
+        StudentResponse first = create(newStudent(course, 1));
+        StudentResponse last = create(newStudent(course, 8));
+
+        HttpResponse<String> response = send("POST", "/api/students/bulk-update", Map.of(
+            "filter", Map.of("course", course),
+            "set", Map.of("academicYearIncrement", 1)
+        ));
+
+        assertThat(response.statusCode()).isEqualTo(400);
+        assertThat(yearOf(first.id())).isEqualTo(1);
+        assertThat(yearOf(last.id())).isEqualTo(8);
+    }
+
+    @Test
+    void deleteRemovesTheSelectionAndRefusesOneOverTheLimit() {
+        String course = unique("BULK");
+        List<StudentResponse> students = createInCourse(course, 6);
+        List<Long> ids = students.stream().map(StudentResponse::id).toList();
+
+        HttpResponse<String> tooMany = send("POST", "/api/students/bulk-delete", Map.of("filter", Map.of("course", course)));
+        assertThat(tooMany.statusCode()).isEqualTo(400);
+        assertThat(countInCourse(course)).isEqualTo(6);
+
+        HttpResponse<String> response = send("POST", "/api/students/bulk-delete", Map.of("ids", ids.subList(0, 4)));
+        assertThat(read(response, BulkResult.class).affected()).isEqualTo(4);
+        assertThat(countInCourse(course)).isEqualTo(2);
+        assertThat(send("GET", "/api/students/" + ids.get(0), null).statusCode()).isEqualTo(404);
+    }
+
+    private List<StudentResponse> createInCourse(String course, int count) {
+        return IntStream.range(0, count).mapToObj(i -> create(newStudent(course, i % 4 + 1))).toList();
+    }
+
+    private String statusOf(long id) {
+        return jdbcTemplate.queryForObject("select status from students where id = ?", String.class, id);
+    }
+
+    private int yearOf(long id) {
+        return jdbcTemplate.queryForObject("select academic_year from students where id = ?", Integer.class, id);
+    }
+
+    private int countInCourse(String course) {
+        return jdbcTemplate.queryForObject("select count(*) from students where course = ?", Integer.class, course);
+    }
+}
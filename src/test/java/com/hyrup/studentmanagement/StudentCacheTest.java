@@ -0,0 +1,161 @@
+package com.hyrup.studentmanagement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.hyrup.studentmanagement.StudentController.StudentResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class StudentCacheTest extends IntegrationTest {
+
+    private static final String MERGE_PATCH = "application/merge-patch+json";
+
+    @Test
+    void readsAreServedFromTheCacheUntilTheApplicationWritesTheStudent() {
+        StudentResponse student = create(newStudent(unique("CACHE"), 1));
+        String path = "/api/students/" + student.id();
+
+        //A change behind the application's back stays invisible while the entry is cached
+        jdbcTemplate.update("update students set course = 'CACHE-BEHIND' where id = ?", student.id());
+        assertThat(get(path).course()).isEqualTo(student.course());
+
+        send("PATCH", path, "{\"academicYear\":2}", "Content-Type", MERGE_PATCH);
+        StudentResponse patched = get(path);
+        assertThat(patched.academicYear()).isEqualTo(2);
+        assertThat(patched.course()).isEqualTo("CACHE-BEHIND");
+    }
+
+    @Test
+    void updatesAndDeletesInvalidateTheCachedStudent() {
+        StudentResponse student = create(newStudent(unique("CACHE"), 1));
+        String path = "/api/students/" + student.id();
+        get(path);
+
+        send("PATCH", path, "{\"status\":\"SUSPENDED\"}", "Content-Type", MERGE_PATCH);
+        assertThat(get(path).status()).isEqualTo("SUSPENDED");
+
+        send("DELETE", path, null);
+        assertThat(send("GET", path, null).statusCode()).isEqualTo(404);
+    }
+
+    @Test
+    void bulkUpdatesInvalidateEveryStudentTheyChange() {
+        String course = unique("CACHE");
+        StudentResponse student = create(newStudent(course, 1));
+        String path = "/api/students/" + student.id();
+        get(path);
+
+        send("POST", "/api/students/bulk-update", Map.of(
+            "filter", Map.of("course", course),
+            "set", Map.of("academicYearIncrement", 1)
+        ));
+
+        assertThat(get(path).academicYear()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StudentCache cache = new StudentCache(registry, true, 100, Duration.ofMinutes(1));
+        StudentResponse student = create(newStudent(unique("CACHE"), 1));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Function<Long, Optional<StudentResponse>> loader = id -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return Optional.of(student);
+        };
+
+        ExecutorService readers = Executors.newFixedThreadPool(5);
+        try {
+            CompletableFuture<Optional<StudentResponse>> first =
+                CompletableFuture.supplyAsync(() -> cache.get(student.id(), loader), readers);
+            assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+            List<CompletableFuture<Optional<StudentResponse>>> joined = IntStream.range(0, 4)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> cache.get(student.id(), loader), readers))
+                .toList();
+            awaitCoalesced(registry, 4);
+            release.countDown();
+
+            assertThat(first.get(10, TimeUnit.SECONDS)).contains(student);
+            for (CompletableFuture<Optional<StudentResponse>> reader : joined) {
+                assertThat(reader.get(10, TimeUnit.SECONDS)).contains(student);
+            }
+            assertThat(loads).hasValue(1);
+        } finally {
+            release.countDown();
+            readers.shutdownNow();
+        }
+    }
+
+    @Test
+    void aLoaderErrorReachesEveryJoinedReaderAndTheNextReadLoadsAgain() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StudentCache cache = new StudentCache(registry, true, 100, Duration.ofMinutes(1));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<Long, Optional<StudentResponse>> failing = id -> {
+            loading.countDown();
+            await(release);
+            throw new StackOverflowError("loader blew its stack");
+        };
+
+        ExecutorService readers = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<Optional<StudentResponse>> first =
+                CompletableFuture.supplyAsync(() -> cache.get(1L, failing), readers);
+            assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<Optional<StudentResponse>> joined =
+                CompletableFuture.supplyAsync(() -> cache.get(1L, failing), readers);
+            awaitCoalesced(registry, 1);
+            release.countDown();
+
+            assertThatThrownBy(() -> first.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+            assertThatThrownBy(() -> joined.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+            assertThat(assertTimeoutPreemptively(Duration.ofSeconds(10), () -> cache.get(1L, id -> Optional.empty())))
+                .isEmpty();
+        } finally {
+            release.countDown();
+            readers.shutdownNow();
+        }
+    }
+
+    private static void awaitCoalesced(SimpleMeterRegistry registry, int readers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (registry.counter("students.reads.coalesced").count() < readers) {
+            assertThat(System.nanoTime()).as("readers joined the load in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private StudentResponse get(String path) {
+        return read(send("GET", path, null), StudentResponse.class);
+    }
+}
@@ -0,0 +1,228 @@
+package com.hyrup.studentmanagement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hyrup.studentmanagement.StudentController.StudentResponse;
+
+//The test context keeps only the 4 newest changes in memory and reads the table every 100ms
+class StudentChangeFeedTest extends IntegrationTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(20);
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private StudentChangeFeed studentChangeFeed;
+
+    @Test
+    void subscriberWithoutACursorReceivesChangesFromNowOn() throws Exception {
+        try (Feed feed = subscribe("")) {
+            StudentResponse created = create(newStudent(unique("FEED"), 1));
+            send("DELETE", "/api/students/" + created.id(), null);
+
+            List<FeedEvent> events = feed.next(2, Set.of(created.id()));
+
+            assertThat(events).extracting(FeedEvent::type).containsExactly("CREATED", "DELETED");
+            assertThat(events.get(0).student().get("studentId").asText()).isEqualTo(created.studentId());
+            assertThat(events.get(1).student().isNull()).isTrue();
+            assertThat(events.get(1).id()).isGreaterThan(events.get(0).id());
+        }
+    }
+
+    @Test
+    void resumeSendsOnlyChangesAfterTheCursor() throws Exception {
+        List<StudentResponse> students = createStudents(3);
+        List<Long> changeIds = recorded(students);
+
+        try (Feed feed = subscribe("?after=" + changeIds.get(1))) {
+            FeedEvent first = feed.next(1, Set.of()).get(0);
+
+            assertThat(first.id()).isEqualTo(changeIds.get(2));
+            assertThat(first.studentId()).isEqualTo(students.get(2).id());
+        }
+    }
+
+    @Test
+    void resumeBehindTheRingReplaysFromTheTableWithoutGaps() throws Exception {
+        List<StudentResponse> older = createStudents(3);
+        long cursor = recorded(older).get(0) - 1;
+        //More changes than the ring holds, so the older ones are only left in the table
+        List<StudentResponse> newer = createStudents(5);
+
+        List<Long> ours = Stream.concat(older.stream(), newer.stream()).map(StudentResponse::id).toList();
+        try (Feed feed = subscribe("", "Last-Event-ID", Long.toString(cursor))) {
+            List<FeedEvent> events = feed.next(ours.size(), Set.copyOf(ours));
+
+            assertThat(events).extracting(FeedEvent::studentId).containsExactlyElementsOf(ours);
+            List<Long> sent = feed.seenIds();
+            List<Long> stored = jdbcTemplate.queryForList(
+                "select id from student_changes where id > ? and id <= ? order by id",
+                Long.class, cursor, sent.get(sent.size() - 1));
+            assertThat(sent).isEqualTo(stored);
+        }
+    }
+
+    @Test
+    void changesAnotherInstanceStoresAreStreamedLive() throws Exception {
+        long studentId = -System.nanoTime();
+        try (Feed feed = subscribe("")) {
+            //What a write on another instance does: take the feed lock and insert, in the student write's transaction
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                jdbcTemplate.queryForObject("select pg_advisory_xact_lock(hashtext('student_changes'))", Object.class);
+                jdbcTemplate.update("insert into student_changes (type, student_id) values ('DELETED', ?)", studentId);
+            });
+
+            FeedEvent event = feed.next(1, Set.of(studentId)).get(0);
+
+            assertThat(event.type()).isEqualTo("DELETED");
+        }
+    }
+
+    @Test
+    void aWriteThatRollsBackLeavesNoChangeBehind() {
+        String course = unique("FEED");
+        List<StudentResponse> students = IntStream.range(0, 6).mapToObj(i -> create(newStudent(course, 1))).toList();
+
+        //The test context allows 5 rows per bulk write, so this one is refused after its UPDATE ran
+        HttpResponse<String> response = send("POST", "/api/students/bulk-update", Map.of(
+            "filter", Map.of("course", course),
+            "set", Map.of("academicYear", 2)
+        ));
+
+        assertThat(response.statusCode()).isEqualTo(400);
+        assertThat(jdbcTemplate.queryForList(
+            "select distinct type from student_changes where student_id = any(?)", String.class,
+            (Object) students.stream().map(StudentResponse::id).toArray(Long[]::new)))
+            .containsExactly("CREATED");
+    }
+
+    @Test
+    void resumeFromPrunedChangesSendsAResetAndCarriesOnFromTheNewest() throws Exception {
+        List<Long> changeIds = recorded(createStudents(2));
+        jdbcTemplate.update("update student_changes set created_at = now() - interval '30 days' where id = ?",
+            changeIds.get(1));
+        studentChangeFeed.prune();
+        assertThat(jdbcTemplate.queryForObject(
+            "select count(*) from student_changes where id <= ?", Long.class, changeIds.get(1))).isZero();
+        //More changes than the ring holds, so the pruned ones are gone from memory as well
+        createStudents(5);
+
+        try (Feed feed = subscribe("?after=" + changeIds.get(0))) {
+            FeedEvent reset = feed.next(1, Set.of()).get(0);
+            assertThat(reset.name()).isEqualTo("reset");
+            assertThat(reset.data().get("requested").asLong()).isEqualTo(changeIds.get(0));
+            assertThat(reset.data().get("prunedThrough").asLong()).isGreaterThanOrEqualTo(changeIds.get(1));
+
+            StudentResponse later = create(newStudent(unique("FEED"), 1));
+            FeedEvent next = feed.next(1, Set.of(later.id())).get(0);
+            assertThat(next.type()).isEqualTo("CREATED");
+            assertThat(next.id()).isGreaterThan(reset.id());
+        }
+    }
+
+    private List<StudentResponse> createStudents(int count) {
+        String course = unique("FEED");
+        return IntStream.range(0, count).mapToObj(i -> create(newStudent(course, 1))).toList();
+    }
+
+    //Changes are stored in the transaction that writes the student, so they are there once the request returns
+    private List<Long> recorded(List<StudentResponse> students) {
+        List<Long> changeIds = jdbcTemplate.queryForList(
+            "select id from student_changes where student_id = any(?) order by id", Long.class,
+            (Object) students.stream().map(StudentResponse::id).toArray(Long[]::new));
+        assertThat(changeIds).hasSameSizeAs(students);
+        return changeIds;
+    }
+
+    private Feed subscribe(String query, String... headers) throws IOException, InterruptedException {
+        HttpRequest.Builder request = request("/api/students/changes" + query, true).header("Accept", "text/event-stream");
+        if (headers.length > 0) {
+            request.headers(headers);
+        }
+        HttpResponse<Stream<String>> response = http.send(request.GET().build(), HttpResponse.BodyHandlers.ofLines());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return new Feed(response.body());
+    }
+
+    //name is null for changes and "reset" for a reset, whose data is then in student
+    private record FeedEvent(String name, long id, String type, long studentId, JsonNode student) {
+
+        private JsonNode data() {
+            return student;
+        }
+    }
+
+    //Reads Server-Sent Events off the open response: an "id:" and "data:" pair per change, after an "event:" line
+    //for anything else
+    private final class Feed implements AutoCloseable {
+
+        private final Stream<String> lines;
+        private final Iterator<String> iterator;
+        private final List<Long> seenIds = new ArrayList<>();
+
+        private Feed(Stream<String> lines) {
+            this.lines = lines;
+            this.iterator = lines.iterator();
+        }
+
+        //The next count events about the given students, or simply the next count events when students is empty
+        private List<FeedEvent> next(int count, Set<Long> students) {
+            return assertTimeoutPreemptively(TIMEOUT, () -> {
+                List<FeedEvent> events = new ArrayList<>();
+                String name = null;
+                Long id = null;
+                while (events.size() < count && iterator.hasNext()) {
+                    String line = iterator.next();
+                    if (line.startsWith("event:")) {
+                        name = line.substring(6).trim();
+                    } else if (line.startsWith("id:")) {
+                        id = Long.parseLong(line.substring(3).trim());
+                    } else if (line.startsWith("data:") && name != null) {
+                        events.add(new FeedEvent(name, id, null, 0, objectMapper.readTree(line.substring(5))));
+                        name = null;
+                        id = null;
+                    } else if (line.startsWith("data:") && id != null) {
+                        JsonNode data = objectMapper.readTree(line.substring(5));
+                        FeedEvent event = new FeedEvent(null, id, data.get("type").asText(),
+                            data.get("studentId").asLong(), data.get("student"));
+                        seenIds.add(id);
+                        if (students.isEmpty() || students.contains(event.studentId())) {
+                            events.add(event);
+                        }
+                        id = null;
+                    }
+                }
+                return events;
+            });
+        }
+
+        private List<Long> seenIds() {
+            return seenIds;
+        }
+
+        @Override
+        public void close() {
+            lines.close();
+        }
+    }
+}
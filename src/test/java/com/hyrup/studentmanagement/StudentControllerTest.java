@@ -0,0 +1,299 @@
+package com.hyrup.studentmanagement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hyrup.studentmanagement.StudentController.StudentResponse;
+
+class StudentControllerTest extends IntegrationTest {
+
+    private static final String MERGE_PATCH = "application/merge-patch+json";
+
+    @Test
+    void cursorWalksEveryMatchOnceInIdOrder() {
+        String course = unique("PAGE");
+        List<Long> created = IntStream.range(0, 5).mapToObj(i -> create(newStudent(course, 1)).id()).toList();
+
+        List<Long> seen = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            JsonNode page = page("/api/students?course=" + course + "&limit=2" + (cursor == null ? "" : "&cursor=" + cursor));
+            page.get("items").forEach(item -> seen.add(item.get("id").asLong()));
+            pageSizes.add(page.get("items").size());
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        assertThat(seen).containsExactlyElementsOf(created);
+        assertThat(pageSizes).containsExactly(2, 2, 1);
+    }
+
+    @Test
+    void filtersCombineWithTheCursor() {
+        String course = unique("PAGE");
+        create(newStudent(course, 1));
+        StudentResponse second = create(newStudent(course, 2));
+        StudentResponse later = create(newStudent(course, 2));
+
+        JsonNode page = page("/api/students?course=" + course + "&academicYear=2&limit=1");
+        assertThat(page.get("items")).extracting(item -> item.get("id").asLong()).containsExactly(second.id());
+
+        JsonNode next = page("/api/students?course=" + course + "&academicYear=2&limit=1&cursor="
+            + page.get("nextCursor").asText());
+        assertThat(next.get("items")).extracting(item -> item.get("id").asLong()).containsExactly(later.id());
+        assertThat(next.get("nextCursor").isNull()).isTrue();
+    }
+
+    @Test
+    void limitOutsideTheAllowedRangeOrAMalformedCursorIsRefused() {
+        assertThat(send("GET", "/api/students?limit=0", null).statusCode()).isEqualTo(400);
+        assertThat(send("GET", "/api/students?limit=501", null).statusCode()).isEqualTo(400);
+        assertThat(send("GET", "/api/students?cursor=not-a-cursor", null).statusCode()).isEqualTo(400);
+    }
+
+    @Test
+    void getReturnsTheVersionAsAStrongEtagAndHonoursIfNoneMatch() {
+        StudentResponse student = create(newStudent("ETAG", 1));
+
+        HttpResponse<String> first = send("GET", "/api/students/" + student.id(), null);
+        assertThat(first.statusCode()).isEqualTo(200);
+        assertThat(first.headers().firstValue("ETag")).hasValue("\"" + student.version() + "\"");
+
+        HttpResponse<String> revalidated = send("GET", "/api/students/" + student.id(), null,
+            "If-None-Match", "\"" + student.version() + "\"");
+        assertThat(revalidated.statusCode()).isEqualTo(304);
+        assertThat(revalidated.body()).isEmpty();
+    }
+
+    @Test
+    void putWithTheCurrentEtagUpdatesAndReturnsTheNextOne() {
+        StudentResponse student = create(newStudent("ETAG", 1));
+        var changed = withCourse(student, "ETAG-PUT");
+
+        HttpResponse<String> response = send("PUT", "/api/students/" + student.id(), changed,
+            "If-Match", "\"" + student.version() + "\"");
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        StudentResponse updated = read(response, StudentResponse.class);
+        assertThat(updated.course()).isEqualTo("ETAG-PUT");
+        assertThat(updated.version()).isEqualTo(student.version() + 1);
+        assertThat(response.headers().firstValue("ETag")).hasValue("\"" + updated.version() + "\"");
+    }
+
+    @Test
+    void putWithAStaleEtagIsRefusedAndChangesNothing() {
+        StudentResponse student = create(newStudent("ETAG", 1));
+        send("PUT", "/api/students/" + student.id(), withCourse(student, "ETAG-FIRST"));
+
+        HttpResponse<String> response = send("PUT", "/api/students/" + student.id(), withCourse(student, "ETAG-LOST"),
+            "If-Match", "\"" + student.version() + "\"");
+
+        assertThat(response.statusCode()).isEqualTo(412);
+        assertThat(courseOf(student.id())).isEqualTo("ETAG-FIRST");
+    }
+
+    @Test
+    void ifMatchAcceptsAnyListedTagOrAWildcardButNeverAWeakTag() {
+        StudentResponse student = create(newStudent("ETAG", 1));
+        String current = "\"" + student.version() + "\"";
+
+        assertThat(send("PATCH", "/api/students/" + student.id(), "{\"course\":\"ETAG-WEAK\"}",
+            "Content-Type", MERGE_PATCH, "If-Match", "W/" + current).statusCode()).isEqualTo(412);
+        assertThat(send("PATCH", "/api/students/" + student.id(), "{\"course\":\"ETAG-LIST\"}",
+            "Content-Type", MERGE_PATCH, "If-Match", "\"999\", " + current).statusCode()).isEqualTo(200);
+        assertThat(send("PATCH", "/api/students/" + student.id(), "{\"course\":\"ETAG-ANY\"}",
+            "Content-Type", MERGE_PATCH, "If-Match", "*").statusCode()).isEqualTo(200);
+        assertThat(courseOf(student.id())).isEqualTo("ETAG-ANY");
+    }
+
+    @Test
+    void eachFormatGetsItsOwnStrongEtagAndAnyOfThemPassesIfMatch() {
+        StudentResponse student = create(newStudent("ETAG", 1));
+        String path = "/api/students/" + student.id();
+        String json = "\"" + student.version() + "\"";
+        String cbor = "\"" + student.version() + "-cbor\"";
+
+        HttpResponse<String> binary = send("GET", path, null, "Accept", "application/cbor");
+        assertThat(binary.headers().firstValue("Content-Type")).hasValue("application/cbor");
+        assertThat(binary.headers().firstValue("ETag")).hasValue(cbor);
+        assertThat(send("GET", path, null, "Accept", "application/x-jackson-smile").headers().firstValue("ETag"))
+            .hasValue("\"" + student.version() + "-smile\"");
+        assertThat(send("GET", path, null).headers().firstValue("ETag")).hasValue(json);
+
+        //A cache holding the JSON body must not be told it is still good for a CBOR request
+        assertThat(send("GET", path, null, "Accept", "application/cbor", "If-None-Match", json).statusCode())
+            .isEqualTo(200);
+        assertThat(send("GET", path, null, "Accept", "application/cbor", "If-None-Match", cbor).statusCode())
+            .isEqualTo(304);
+
+        HttpResponse<String> patched = send("PATCH", path, "{\"course\":\"ETAG-CBOR\"}",
+            "Content-Type", MERGE_PATCH, "If-Match", cbor);
+        assertThat(patched.statusCode()).isEqualTo(200);
+        assertThat(patched.headers().firstValue("ETag")).hasValue("\"" + (student.version() + 1) + "\"");
+    }
+
+    @Test
+    void pageEtagsDifferByFormat() {
+        String course = unique("ETAG");
+        create(newStudent(course, 1));
+        String path = "/api/students?course=" + course;
+
+        String json = send("GET", path, null).headers().firstValue("ETag").orElseThrow();
+        String smile = send("GET", path, null, "Accept", "application/x-jackson-smile").headers().firstValue("ETag")
+            .orElseThrow();
+
+        assertThat(smile).isNotEqualTo(json);
+        assertThat(send("GET", path, null, "Accept", "application/x-jackson-smile", "If-None-Match", json).statusCode())
+            .isEqualTo(200);
+        assertThat(send("GET", path, null, "Accept", "application/x-jackson-smile", "If-None-Match", smile)
+            .statusCode()).isEqualTo(304);
+    }
+
+    @Test
+    void mergePatchChangesOnlyTheSuppliedFields() {
+        StudentResponse student = create(newStudent("PATCH", 2));
+
+        HttpResponse<String> response = send("PATCH", "/api/students/" + student.id(),
+            "{\"course\":\"PATCH-NEW\",\"gpa\":3.9}", "Content-Type", MERGE_PATCH);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        StudentResponse patched = read(response, StudentResponse.class);
+        assertThat(patched.course()).isEqualTo("PATCH-NEW");
+        assertThat(patched.gpa()).isEqualByComparingTo(new BigDecimal("3.9"));
+        assertThat(patched.academicYear()).isEqualTo(student.academicYear());
+        assertThat(patched.email()).isEqualTo(student.email());
+        assertThat(patched.version()).isEqualTo(student.version() + 1);
+    }
+
+    @Test
+    void mergePatchRejectsInvalidValuesUnknownFieldsAndRemovals() {
+        StudentResponse student = create(newStudent("PATCH", 2));
+        String path = "/api/students/" + student.id();
+
+        assertThat(send("PATCH", path, "{\"gpa\":4.5}", "Content-Type", MERGE_PATCH).statusCode()).isEqualTo(400);
+        assertThat(send("PATCH", path, "{\"email\":\"not-an-email\"}", "Content-Type", MERGE_PATCH).statusCode())
+            .isEqualTo(400);
+        assertThat(send("PATCH", path, "{\"academicYear\":\"second\"}", "Content-Type", MERGE_PATCH).statusCode())
+            .isEqualTo(400);
+        assertThat(send("PATCH", path, "{\"nickname\":\"Tess\"}", "Content-Type", MERGE_PATCH).statusCode())
+            .isEqualTo(400);
+        assertThat(send("PATCH", path, "{\"course\":null}", "Content-Type", MERGE_PATCH).statusCode())
+            .isEqualTo(400);
+
+        StudentResponse unchanged = read(send("GET", path, null), StudentResponse.class);
+        assertThat(unchanged).isEqualTo(student);
+    }
+
+    @Test
+    void createWithATakenStudentIdOrEmailIsAConflict() {
+        StudentResponse existing = create(newStudent(unique("UNIQUE"), 1));
+        var takenStudentId = withKeys(newStudent(existing.course(), 1), existing.studentId(), null);
+        var takenEmail = withKeys(newStudent(existing.course(), 1), null, existing.email());
+
+        assertThat(send("POST", "/api/students", takenStudentId).statusCode()).isEqualTo(409);
+        assertThat(send("POST", "/api/students", takenEmail).statusCode()).isEqualTo(409);
+        assertThat(jdbcTemplate.queryForObject(
+            "select count(*) from students where course = ?", Integer.class, existing.course())).isEqualTo(1);
+    }
+
+    @Test
+    void updatesToATakenStudentIdOrEmailAreAConflict() {
+        StudentResponse existing = create(newStudent(unique("UNIQUE"), 1));
+        StudentResponse student = create(newStudent(existing.course(), 1));
+        String path = "/api/students/" + student.id();
+
+        assertThat(send("PUT", path, withKeys(withCourse(student, student.course()), existing.studentId(), null))
+            .statusCode()).isEqualTo(409);
+        assertThat(send("PATCH", path, "{\"email\":\"" + existing.email() + "\"}", "Content-Type", MERGE_PATCH)
+            .statusCode()).isEqualTo(409);
+        assertThat(read(send("GET", path, null), StudentResponse.class)).isEqualTo(student);
+    }
+
+    @Test
+    void fieldsLimitAListingToTheRequestedColumnsPlusId() {
+        String course = unique("FIELDS");
+        StudentResponse student = create(newStudent(course, 1));
+
+        JsonNode item = page("/api/students?course=" + course + "&fields=email,course").get("items").get(0);
+        assertThat(item.properties()).extracting(Map.Entry::getKey).containsExactlyInAnyOrder("id", "email", "course");
+        assertThat(item.get("id").asLong()).isEqualTo(student.id());
+        assertThat(item.get("email").asText()).isEqualTo(student.email());
+
+        JsonNode versioned = page("/api/students?course=" + course + "&fields=version").get("items").get(0);
+        assertThat(versioned.properties()).extracting(Map.Entry::getKey).containsExactlyInAnyOrder("id", "version");
+        assertThat(versioned.get("version").asLong()).isEqualTo(student.version());
+    }
+
+    @Test
+    void fieldsTrimASingleStudentAndUnknownNamesAreRefused() {
+        StudentResponse student = create(newStudent(unique("FIELDS"), 3));
+        String path = "/api/students/" + student.id();
+
+        JsonNode trimmed = read(send("GET", path + "?fields=academicYear", null), JsonNode.class);
+        assertThat(trimmed.properties()).extracting(Map.Entry::getKey).containsExactlyInAnyOrder("id", "academicYear");
+        assertThat(trimmed.get("academicYear").asInt()).isEqualTo(3);
+
+        assertThat(send("GET", path + "?fields=passwordHash", null).statusCode()).isEqualTo(400);
+        assertThat(send("GET", "/api/students?fields=passwordHash", null).statusCode()).isEqualTo(400);
+    }
+
+    private JsonNode page(String path) {
+        HttpResponse<String> response = send("GET", path, null);
+        assertThat(response.statusCode()).isEqualTo(200);
+        return read(response, JsonNode.class);
+    }
+
+    private String courseOf(long id) {
+        return jdbcTemplate.queryForObject("select course from students where id = ?", String.class, id);
+    }
+
+    //A null key keeps the request's own
+    private static StudentController.StudentRequest withKeys(
+        StudentController.StudentRequest request,
+        String studentId,
+        String email
+    ) {
+        return new StudentController.StudentRequest(
+            studentId != null ? studentId : request.studentId(),
+            request.firstName(),
+            request.lastName(),
+            email != null ? email : request.email(),
+            request.course(),
+            request.academicYear(),
+            request.enrollmentDate(),
+            request.gpa(),
+            request.phone(),
+            request.address(),
+            request.emergencyContactName(),
+            request.emergencyContactPhone(),
+            request.status()
+        );
+    }
+
+    private static StudentController.StudentRequest withCourse(StudentResponse student, String course) {
+        return new StudentController.StudentRequest(
+            student.studentId(),
+            student.firstName(),
+            student.lastName(),
+            student.email(),
+            course,
+            student.academicYear(),
+            student.enrollmentDate(),
+            student.gpa(),
+            student.phone(),
+            student.address(),
+            student.emergencyContactName(),
+            student.emergencyContactPhone(),
+            student.status()
+        );
+    }
+}
@@ -0,0 +1,140 @@
+package com.hyrup.studentmanagement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.hyrup.studentmanagement.StudentController.StudentRequest;
+import com.hyrup.studentmanagement.StudentController.StudentResponse;
+import com.hyrup.studentmanagement.StudentImporter.ImportReport;
+import com.hyrup.studentmanagement.StudentImporter.RowResult;
+import com.hyrup.studentmanagement.StudentImporter.RowStatus;
+
+import jakarta.validation.Validator;
+
+class StudentImporterTest extends IntegrationTest {
+
+    @Autowired
+    private StudentImporter studentImporter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private StudentChangeFeed studentChangeFeed;
+
+    @Test
+    void importCreatesValidRowsAndReportsEveryInvalidOne() {
+        String course = unique("IMPORT");
+        StudentRequest invalid = withKeys(newStudent(course, 1), unique("X"), "not-an-email");
+        List<StudentRequest> rows = List.of(newStudent(course, 1), invalid, newStudent(course, 2));
+
+        HttpResponse<String> response = send("POST", "/api/students/import", rows);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        ImportReport report = read(response, ImportReport.class);
+        assertThat(report.created()).isEqualTo(2);
+        assertThat(report.rejected()).isEqualTo(1);
+        assertThat(report.rows()).extracting(RowResult::status)
+            .containsExactly(RowStatus.CREATED, RowStatus.REJECTED, RowStatus.CREATED);
+        assertThat(jdbcTemplate.queryForList("select student_id from students where course = ?", String.class, course))
+            .containsExactlyInAnyOrder(rows.get(0).studentId(), rows.get(2).studentId());
+    }
+
+    @Test
+    void importedIdBlocksNeverOverlapIdsThatConcurrentSavesUse() {
+        String course = unique("IMPORT");
+        List<StudentRequest> rows = IntStream.range(0, 180).mapToObj(i -> newStudent(course, 1)).toList();
+
+        //Saves keep drawing from the block Hibernate holds while the import draws whole blocks of its own
+        CompletableFuture<List<StudentResponse>> saves = CompletableFuture.supplyAsync(() ->
+            IntStream.range(0, 60).mapToObj(i -> create(newStudent(course, 2))).toList());
+        ImportReport report = studentImporter.importRows(rows);
+        List<StudentResponse> saved = saves.join();
+
+        assertThat(report.created()).isEqualTo(180);
+        assertThat(report.rejected()).isZero();
+        List<Long> importedIds = jdbcTemplate.queryForList(
+            "select id from students where course = ? and academic_year = 1 order by id", Long.class, course);
+        assertThat(importedIds).hasSize(180);
+        assertThat(importedIds).doesNotContainAnyElementsOf(saved.stream().map(StudentResponse::id).toList());
+    }
+
+    @Test
+    void importedRowsAreCreatedWithTheIdsTheirBlocksReserved() {
+        long blockSize = jdbcTemplate.queryForObject(
+            "select increment_by from pg_sequences where schemaname = current_schema() and sequencename = 'students_seq'",
+            Long.class);
+        String course = unique("IMPORT");
+        int count = (int) blockSize + 1;
+
+        ImportReport report = studentImporter.importRows(
+            IntStream.range(0, count).mapToObj(i -> newStudent(course, 1)).toList());
+
+        assertThat(report.created()).isEqualTo(count);
+        //Two blocks were drawn, and the first one is used up by consecutive ids
+        List<Long> ids = jdbcTemplate.queryForList(
+            "select id from students where course = ? order by id", Long.class, course);
+        assertThat(ids).hasSize(count);
+        assertThat(ids.get((int) blockSize - 1) - ids.get(0)).isEqualTo(blockSize - 1);
+    }
+
+    @Test
+    void rowsTheDatabaseRefusesAreRejectedAndTheRestOfTheChunkIsCreated() {
+        StudentResponse existing = create(newStudent(unique("IMPORT"), 1));
+        String course = unique("IMPORT");
+        StudentRequest takenStudentId = withKeys(newStudent(course, 1), existing.studentId(), unique("x") + "@test.edu");
+        StudentRequest takenEmail = withKeys(newStudent(course, 1), unique("X"), existing.email());
+        List<StudentRequest> rows = List.of(newStudent(course, 1), takenStudentId, takenEmail, newStudent(course, 1));
+
+        //With the uniqueness lookups seeing nothing, the way a concurrent insert would leave them, the database
+        //refuses the chunk and each row is retried on its own
+        StudentImporter racing = new StudentImporter(mock(StudentRepository.class), jdbcTemplate, transactionManager,
+            validator, eventPublisher, studentChangeFeed);
+        ReflectionTestUtils.setField(racing, "maxRows", 100);
+        ReflectionTestUtils.setField(racing, "batchSize", 100);
+        ImportReport report = racing.importRows(rows);
+
+        assertThat(report.created()).isEqualTo(2);
+        assertThat(report.rows()).extracting(RowResult::status)
+            .containsExactly(RowStatus.CREATED, RowStatus.REJECTED, RowStatus.REJECTED, RowStatus.CREATED);
+        assertThat(report.rows().get(1).errors()).containsExactly("studentId already exists");
+        assertThat(report.rows().get(2).errors()).containsExactly("student email already exists");
+        assertThat(jdbcTemplate.queryForList("select student_id from students where course = ?", String.class, course))
+            .containsExactlyInAnyOrder(rows.get(0).studentId(), rows.get(3).studentId());
+    }
+
+    private static StudentRequest withKeys(StudentRequest request, String studentId, String email) {
+        return new StudentRequest(
+            studentId,
+            request.firstName(),
+            request.lastName(),
+            email,
+            request.course(),
+            request.academicYear(),
+            request.enrollmentDate(),
+            request.gpa(),
+            request.phone(),
+            request.address(),
+            request.emergencyContactName(),
+            request.emergencyContactPhone(),
+            request.status()
+        );
+    }
+}
@@ -0,0 +1,108 @@
+package com.hyrup.studentmanagement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.hyrup.studentmanagement.StudentController.StudentResponse;
+import com.hyrup.studentmanagement.StudentController.StudentSuggestion;
+
+//Builds its own enabled index, since the application's is off by default
+class StudentPrefixIndexTest extends IntegrationTest {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void eventsKeepTheIndexCurrent() {
+        StudentPrefixIndex index = new StudentPrefixIndex(studentRepository, transactionManager, true);
+        index.load();
+        String name = StudentSearchTest.nameToken();
+
+        StudentResponse student = create(StudentSearchTest.named(name, "Student"));
+        index.onStudentChanged(StudentChangedEvent.created(student));
+        assertThat(suggested(index, name)).containsExactly(student.id());
+
+        index.onStudentChanged(StudentChangedEvent.deleted(student));
+        assertThat(suggested(index, name)).isEmpty();
+    }
+
+    @Test
+    void rebuildPicksUpWritesNoEventWasSeenFor() {
+        StudentPrefixIndex index = new StudentPrefixIndex(studentRepository, transactionManager, true);
+        index.load();
+        String name = StudentSearchTest.nameToken();
+        StudentResponse added = saveElsewhere(name);
+        StudentResponse removed = create(StudentSearchTest.named(name, "Removed"));
+        index.onStudentChanged(StudentChangedEvent.created(removed));
+        jdbcTemplate.update("delete from students where id = ?", removed.id());
+        assertThat(suggested(index, name)).containsExactly(removed.id());
+
+        index.rebuild();
+
+        assertThat(suggested(index, name)).containsExactly(added.id());
+    }
+
+    @Test
+    void rebuildKeepsAChangeThatCommitsAfterItsRead() {
+        String name = StudentSearchTest.nameToken();
+        StudentRepository racingRepository = mock(StudentRepository.class);
+        StudentPrefixIndex index = new StudentPrefixIndex(racingRepository, transactionManager, true);
+        //The table has been read, so the snapshot cannot hold the student; its event arrives before the swap
+        when(racingRepository.streamResponses()).thenAnswer(invocation -> {
+            List<StudentResponse> read = studentRepository.streamResponses().toList();
+            index.onStudentChanged(StudentChangedEvent.created(saveElsewhere(name)));
+            return read.stream();
+        });
+
+        index.rebuild();
+
+        assertThat(suggested(index, name)).hasSize(1);
+    }
+
+    @Test
+    void rebuildIgnoresARacingEventOlderThanWhatItRead() {
+        StudentResponse stale = saveElsewhere(StudentSearchTest.nameToken());
+        String renamed = StudentSearchTest.nameToken();
+        jdbcTemplate.update("update students set first_name = ?, version = version + 1 where id = ?", renamed, stale.id());
+        StudentRepository racingRepository = mock(StudentRepository.class);
+        StudentPrefixIndex index = new StudentPrefixIndex(racingRepository, transactionManager, true);
+        //The rename committed before the read, but an event from before it only lands while the rebuild runs
+        when(racingRepository.streamResponses()).thenAnswer(invocation -> {
+            List<StudentResponse> read = studentRepository.streamResponses().toList();
+            index.onStudentChanged(StudentChangedEvent.updated(stale, stale));
+            return read.stream();
+        });
+
+        index.rebuild();
+
+        assertThat(suggested(index, renamed)).containsExactly(stale.id());
+        assertThat(suggested(index, stale.firstName())).isEmpty();
+    }
+
+    private static List<Long> suggested(StudentPrefixIndex index, String query) {
+        return index.suggest(query, 10).stream().map(StudentSuggestion::id).toList();
+    }
+
+    //Commits without publishing an event, the way another instance or a script would
+    private StudentResponse saveElsewhere(String firstName) {
+        TransactionTemplate separate = new TransactionTemplate(transactionManager);
+        separate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return separate.execute(status -> {
+            Student student = new Student();
+            StudentController.applyRequest(StudentSearchTest.named(firstName, "Student"), student);
+            return StudentController.toResponse(studentRepository.saveAndFlush(student));
+        });
+    }
+}
@@ -0,0 +1,96 @@
+package com.hyrup.studentmanagement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hyrup.studentmanagement.StudentController.StudentRequest;
+import com.hyrup.studentmanagement.StudentController.StudentResponse;
+
+class StudentSearchTest extends IntegrationTest {
+
+    @Test
+    void searchRanksPrefixMatchesAboveFuzzyOnes() {
+        String name = nameToken();
+        StudentResponse exact = create(named(name, "Student"));
+        StudentResponse prefix = create(named("Test", name + "son"));
+        StudentResponse misspelt = create(named(typo(name), "Student"));
+        Set<Long> ours = Set.of(exact.id(), prefix.id(), misspelt.id());
+
+        JsonNode page = read(send("GET", "/api/students/search?limit=100&q=" + name, null), JsonNode.class);
+
+        List<Long> found = ids(page.get("items")).stream().filter(ours::contains).toList();
+        assertThat(found).containsExactly(exact.id(), prefix.id(), misspelt.id());
+    }
+
+    @Test
+    void searchPagesWithItsCursor() {
+        String name = nameToken();
+        create(named(name, "One"));
+        create(named(name, "Two"));
+
+        JsonNode first = read(send("GET", "/api/students/search?limit=1&q=" + name, null), JsonNode.class);
+        JsonNode second = read(send("GET", "/api/students/search?limit=1&q=" + name + "&cursor="
+            + first.get("nextCursor").asText(), null), JsonNode.class);
+
+        assertThat(ids(first.get("items"))).hasSize(1);
+        assertThat(ids(second.get("items"))).hasSize(1).doesNotContainAnyElementsOf(ids(first.get("items")));
+    }
+
+    @Test
+    void suggestOffersPrefixMatchesWithExactOnesFirst() {
+        String name = nameToken();
+        StudentResponse longer = create(named("Test", name + "son"));
+        StudentResponse exact = create(named(name, "Student"));
+        create(named(typo(name), "Student"));
+
+        HttpResponse<String> response = send("GET", "/api/students/suggest?q=" + name, null);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(ids(read(response, JsonNode.class))).containsExactly(exact.id(), longer.id());
+    }
+
+    @Test
+    void blankOrOverlongQueriesAreRefused() {
+        assertThat(send("GET", "/api/students/search?q=%20", null).statusCode()).isEqualTo(400);
+        assertThat(send("GET", "/api/students/suggest?q=" + "a".repeat(101), null).statusCode()).isEqualTo(400);
+        assertThat(send("GET", "/api/students/suggest?q=abc&limit=51", null).statusCode()).isEqualTo(400);
+    }
+
+    //Random letters that share no trigrams with other tests' names, lowercase so it also matches as typed
+    static String nameToken() {
+        return "zq" + new StringBuilder(Long.toString(System.nanoTime(), 36)).reverse().toString().replaceAll("[0-9]", "x");
+    }
+
+    private static String typo(String name) {
+        return name.substring(0, name.length() - 1) + (name.endsWith("y") ? "w" : "y");
+    }
+
+    static StudentRequest named(String firstName, String lastName) {
+        StudentRequest request = newStudent(unique("SEARCH"), 1);
+        return new StudentRequest(
+            request.studentId(),
+            firstName,
+            lastName,
+            request.email(),
+            request.course(),
+            request.academicYear(),
+            request.enrollmentDate(),
+            request.gpa(),
+            request.phone(),
+            request.address(),
+            request.emergencyContactName(),
+            request.emergencyContactPhone(),
+            request.status()
+        );
+    }
+
+    private static List<Long> ids(JsonNode items) {
+        return items.findValues("id").stream().map(JsonNode::asLong).toList();
+    }
+}
@@ -0,0 +1,146 @@
+package com.hyrup.studentmanagement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.hyrup.studentmanagement.StudentController.StudentResponse;
+import com.hyrup.studentmanagement.StudentStats.StatsSnapshot;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class StudentStatsTest extends IntegrationTest {
+
+    @Autowired
+    private StudentStats studentStats;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void eventsKeepTheLiveNumbersEqualToAFreshQuery() {
+        studentStats.reconcile();
+        String course = unique("STATS");
+
+        StudentResponse created = create(newStudent(course, 1));
+        StudentResponse deleted = create(newStudent(course, 2));
+        send("PATCH", "/api/students/" + created.id(), "{\"gpa\":1.75,\"status\":\"SUSPENDED\"}",
+            "Content-Type", "application/merge-patch+json");
+        send("DELETE", "/api/students/" + deleted.id(), null);
+        send("POST", "/api/students/bulk-update", Map.of(
+            "filter", Map.of("course", course),
+            "set", Map.of("academicYearIncrement", 2)
+        ));
+        importRows(course);
+
+        assertThat(withoutTime(studentStats.snapshot())).isEqualTo(withoutTime(freshStats().snapshot()));
+        assertThat(studentStats.snapshot().byCourse().get(course).count()).isEqualTo(3);
+    }
+
+    @Test
+    void reconcileKeepsAChangeThatCommitsAfterItsSnapshot() {
+        RacingJdbcTemplate racingJdbc = new RacingJdbcTemplate(dataSource);
+        StudentStats stats = new StudentStats(racingJdbc, transactionManager, new SimpleMeterRegistry());
+        stats.reconcile();
+
+        //The query has run, so its snapshot cannot hold the student; the event arrives before the swap
+        racingJdbc.afterQuery = () -> stats.onStudentChanged(StudentChangedEvent.created(saveElsewhere()));
+        stats.reconcile();
+
+        assertThat(withoutTime(stats.snapshot())).isEqualTo(withoutTime(freshStats().snapshot()));
+    }
+
+    @Test
+    void reconcileDoesNotCountAChangeTwiceWhenItsSnapshotAlreadyHoldsIt() {
+        RacingJdbcTemplate racingJdbc = new RacingJdbcTemplate(dataSource);
+        StudentStats stats = new StudentStats(racingJdbc, transactionManager, new SimpleMeterRegistry());
+        stats.reconcile();
+
+        //Committed before the query took its snapshot, but the event only lands while the reconcile runs
+        racingJdbc.beforeQuery = () -> {
+            StudentResponse student = saveElsewhere();
+            racingJdbc.afterQuery = () -> stats.onStudentChanged(StudentChangedEvent.created(student));
+        };
+        stats.reconcile();
+
+        assertThat(withoutTime(stats.snapshot())).isEqualTo(withoutTime(freshStats().snapshot()));
+    }
+
+    private void importRows(String course) {
+        send("POST", "/api/students/import", List.of(newStudent(course, 3), newStudent(course, 4)));
+    }
+
+    //Commits in a transaction of its own, the way another request would
+    private StudentResponse saveElsewhere() {
+        TransactionTemplate separate = new TransactionTemplate(transactionManager);
+        separate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return separate.execute(status -> {
+            Student student = new Student();
+            StudentController.applyRequest(newStudent(unique("STATS"), 1), student);
+            return StudentController.toResponse(studentRepository.saveAndFlush(student));
+        });
+    }
+
+    private StudentStats freshStats() {
+        StudentStats stats = new StudentStats(jdbcTemplate, transactionManager, new SimpleMeterRegistry());
+        stats.reconcile();
+        return stats;
+    }
+
+    private static StatsSnapshot withoutTime(StatsSnapshot snapshot) {
+        return new StatsSnapshot(
+            snapshot.total(),
+            snapshot.averageGpa(),
+            snapshot.byCourse(),
+            snapshot.byStatus(),
+            snapshot.byAcademicYear(),
+            snapshot.gpaDistribution(),
+            null
+        );
+    }
+
+    //Runs a hook on either side of the aggregate query, inside the reconcile's snapshot transaction
+    private static final class RacingJdbcTemplate extends JdbcTemplate {
+
+        private Runnable beforeQuery;
+        private Runnable afterQuery;
+
+        private RacingJdbcTemplate(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public void query(String sql, RowCallbackHandler handler) throws DataAccessException {
+            run(beforeQuery);
+            beforeQuery = null;
+            super.query(sql, handler);
+            Runnable after = afterQuery;
+            afterQuery = null;
+            run(after);
+        }
+
+        private static void run(Runnable hook) {
+            if (hook != null) {
+                hook.run();
+            }
+        }
+    }
+}